@@ -0,0 +1,57 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.BookingState;
+import ru.practicum.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookingService} reads against {@link SeededShareIt}, each invocation for the next booking, owner
+ * or booker of the data set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private BookingService bookingService;
+    private int next;
+
+    @Setup
+    public void setUp(SeededShareIt shareIt) {
+        bookingService = shareIt.bean(BookingService.class);
+    }
+
+    @Benchmark
+    public BookingResponseDto getBookingById(SeededShareIt shareIt) {
+        int index = next++;
+        return bookingService.getBookingById(shareIt.bookingBookerId(index), shareIt.bookingId(index));
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getBookingsForOwner(SeededShareIt shareIt) {
+        return bookingService.getBookingsForOwner(shareIt.ownerId(next++), BookingState.ALL, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getPastBookingsForUser(SeededShareIt shareIt) {
+        return bookingService.getBookingsForUser(shareIt.bookerId(next++), BookingState.PAST, 0, PAGE_SIZE);
+    }
+}
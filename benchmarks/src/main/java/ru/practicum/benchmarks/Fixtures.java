@@ -0,0 +1,91 @@
+package ru.practicum.benchmarks;
+
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.dto.NearestBookingDto;
+import ru.practicum.item.Comment;
+import ru.practicum.item.Item;
+import ru.practicum.item.dto.CommentMapper;
+import ru.practicum.item.dto.CommentResponseDto;
+import ru.practicum.item.dto.ItemMapper;
+import ru.practicum.item.dto.ItemResponseDto;
+import ru.practicum.request.ItemRequest;
+import ru.practicum.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities and DTOs shaped like the ones the server produces.
+ */
+final class Fixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("Пользователь " + id)
+                .email("user" + id + "@example.com")
+                .build();
+    }
+
+    static Item item(long id, User owner) {
+        ItemRequest request = ItemRequest.builder()
+                .id(id)
+                .description("Нужна дрель")
+                .requester(user(id + 1))
+                .created(NOW)
+                .build();
+        return Item.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Аккумуляторная дрель с набором бит")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build();
+    }
+
+    static Booking booking(long id) {
+        User owner = user(id * 2);
+        return Booking.builder()
+                .id(id)
+                .start(NOW.minusDays(2))
+                .end(NOW.minusDays(1))
+                .item(item(id, owner))
+                .booker(user(id * 2 + 1))
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    static Comment comment(long id, Item item, User author) {
+        return Comment.builder()
+                .id(id)
+                .text("Отличная дрель, всё просверлила. Отзыв " + id)
+                .item(item)
+                .author(author)
+                .created(NOW.minusHours(id))
+                .build();
+    }
+
+    static List<ItemResponseDto> itemResponses(int size, int commentsPerItem) {
+        List<ItemResponseDto> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Booking booking = booking(id);
+            List<CommentResponseDto> comments = new ArrayList<>(commentsPerItem);
+            for (long c = 1; c <= commentsPerItem; c++) {
+                comments.add(CommentMapper.toCommentResponseDto(comment(c, booking.getItem(), booking.getBooker())));
+            }
+            items.add(ItemMapper.toItemResponseDto(booking.getItem(),
+                    new NearestBookingDto(id, booking.getBooker().getId()),
+                    new NearestBookingDto(id + 1, booking.getBooker().getId()),
+                    comments));
+        }
+        return items;
+    }
+}
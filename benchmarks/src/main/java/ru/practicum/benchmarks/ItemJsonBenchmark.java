@@ -0,0 +1,53 @@
+package ru.practicum.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.item.dto.ItemResponseDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a page of {@link ItemResponseDto} the way the item listing endpoints do, with an object mapper
+ * configured like Spring Boot's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    @Param({"3"})
+    private int commentsPerItem;
+
+    private ObjectWriter writer;
+    private List<ItemResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        page = Fixtures.itemResponses(pageSize, commentsPerItem);
+    }
+
+    @Benchmark
+    public byte[] writeItemList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.item.dto.ItemResponseDto;
+import ru.practicum.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItemService} reads against {@link SeededShareIt}. Items are fetched by their owners, so the
+ * nearest bookings are looked up as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ItemService itemService;
+    private int next;
+
+    @Setup
+    public void setUp(SeededShareIt shareIt) {
+        itemService = shareIt.bean(ItemService.class);
+    }
+
+    @Benchmark
+    public ItemResponseDto getItemById(SeededShareIt shareIt) {
+        int index = next++;
+        return itemService.getItemById(shareIt.itemId(index), shareIt.itemOwnerId(index));
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getItemsByOwner(SeededShareIt shareIt) {
+        return itemService.getItemsByOwner(shareIt.ownerId(next++), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchAvailableItems() {
+        return itemService.searchAvailableItems("дрель комплект " + (next++ % 100), 0, PAGE_SIZE);
+    }
+}
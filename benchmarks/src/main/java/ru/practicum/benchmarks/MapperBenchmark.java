@@ -0,0 +1,81 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.dto.BookingMapper;
+import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.NearestBookingDto;
+import ru.practicum.item.Comment;
+import ru.practicum.item.Item;
+import ru.practicum.item.dto.CommentMapper;
+import ru.practicum.item.dto.CommentResponseDto;
+import ru.practicum.item.dto.ItemMapper;
+import ru.practicum.item.dto.ItemResponseDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a single booking, comment and item, the item with {@code comments} comments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    @Param({"0", "10"})
+    private int comments;
+
+    private Booking booking;
+    private Comment comment;
+    private Item item;
+    private List<Comment> itemComments;
+    private NearestBookingDto lastBooking;
+    private NearestBookingDto nextBooking;
+
+    @Setup
+    public void setUp() {
+        booking = Fixtures.booking(1);
+        comment = Fixtures.comment(1, booking.getItem(), booking.getBooker());
+        item = booking.getItem();
+        itemComments = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            itemComments.add(Fixtures.comment(i + 1, item, booking.getBooker()));
+        }
+        lastBooking = new NearestBookingDto(1L, booking.getBooker().getId());
+        nextBooking = new NearestBookingDto(2L, booking.getBooker().getId());
+    }
+
+    @Benchmark
+    public BookingResponseDto toBookingResponseDto() {
+        return BookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Benchmark
+    public CommentResponseDto toCommentResponseDto() {
+        return CommentMapper.toCommentResponseDto(comment);
+    }
+
+    @Benchmark
+    public ItemResponseDto toItemResponseDto() {
+        List<CommentResponseDto> commentDtos = new ArrayList<>(itemComments.size());
+        for (Comment itemComment : itemComments) {
+            commentDtos.add(CommentMapper.toCommentResponseDto(itemComment));
+        }
+        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, commentDtos);
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ShareItServer;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.item.search.IndexedItemSearchEngine;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The server without its web layer, on an in-memory H2 database seeded with {@code items} items, every
+ * owner holding {@code itemsPerOwner} of them, and {@code bookingsPerItem} bookings and
+ * {@code commentsPerItem} comments per item. Half of an item's bookings are in the past. The data set is
+ * generated from a fixed seed, so runs with the same parameters see the same rows.
+ */
+@State(Scope.Benchmark)
+public class SeededShareIt {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    @Param({"1000", "10000"})
+    private int items;
+
+    @Param({"20"})
+    private int itemsPerOwner;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    @Param({"3"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private long[] ownerIds;
+    private long[] bookerIds;
+    private long[] itemIds;
+    private long[] itemOwnerIds;
+    private long[] bookingIds;
+    private long[] bookingBookerIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        String database = "benchmarks" + DATABASES.incrementAndGet();
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=PostgreSQL",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBeanProvider(IndexedItemSearchEngine.class).ifAvailable(IndexedItemSearchEngine::rebuild);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long ownerId(int index) {
+        return ownerIds[Math.floorMod(index, ownerIds.length)];
+    }
+
+    public long bookerId(int index) {
+        return bookerIds[Math.floorMod(index, bookerIds.length)];
+    }
+
+    public long itemId(int index) {
+        return itemIds[Math.floorMod(index, itemIds.length)];
+    }
+
+    public long itemOwnerId(int index) {
+        return itemOwnerIds[Math.floorMod(index, itemIds.length)];
+    }
+
+    public long bookingId(int index) {
+        return bookingIds[Math.floorMod(index, bookingIds.length)];
+    }
+
+    public long bookingBookerId(int index) {
+        return bookingBookerIds[Math.floorMod(index, bookingIds.length)];
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Random random = new Random(42);
+        int owners = Math.max(1, items / itemsPerOwner);
+        int bookers = Math.max(10, owners);
+
+        List<Object[]> users = new ArrayList<>(owners + bookers);
+        for (int i = 0; i < owners + bookers; i++) {
+            users.add(new Object[]{"Пользователь " + i, "user" + i + "@example.com"});
+        }
+        insert(jdbc, "INSERT INTO users (name, email) VALUES (?, ?)", users);
+        long[] userIds = ids(jdbc, "users");
+        ownerIds = slice(userIds, 0, owners);
+        bookerIds = slice(userIds, owners, owners + bookers);
+
+        List<Object[]> itemRows = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            itemRows.add(new Object[]{"Дрель " + i, "Аккумуляторная дрель, комплект " + i, i % 10 != 0,
+                    ownerIds[i % owners]});
+        }
+        insert(jdbc, "INSERT INTO items (name, description, is_available, owner_id) VALUES (?, ?, ?, ?)",
+                itemRows);
+        itemIds = ids(jdbc, "items");
+        itemOwnerIds = new long[items];
+        for (int i = 0; i < items; i++) {
+            itemOwnerIds[i] = ownerIds[i % owners];
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>(items * bookingsPerItem);
+        List<Long> bookingBookers = new ArrayList<>(items * bookingsPerItem);
+        for (long itemId : itemIds) {
+            for (int k = 0; k < bookingsPerItem; k++) {
+                LocalDateTime start = now.plusDays(2L * (k - bookingsPerItem / 2));
+                boolean past = start.isBefore(now);
+                BookingStatus status = past
+                        ? (random.nextInt(5) == 0 ? BookingStatus.REJECTED : BookingStatus.APPROVED)
+                        : (random.nextBoolean() ? BookingStatus.WAITING : BookingStatus.APPROVED);
+                long bookerId = bookerIds[random.nextInt(bookers)];
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)),
+                        itemId, bookerId, status.name()});
+                bookingBookers.add(bookerId);
+            }
+        }
+        insert(jdbc, "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?)", bookings);
+        bookingIds = ids(jdbc, "bookings");
+        bookingBookerIds = bookingBookers.stream().mapToLong(Long::longValue).toArray();
+
+        List<Object[]> comments = new ArrayList<>(items * commentsPerItem);
+        for (long itemId : itemIds) {
+            for (int c = 0; c < commentsPerItem; c++) {
+                comments.add(new Object[]{"Отзыв " + c + " о вещи " + itemId, itemId,
+                        bookerIds[random.nextInt(bookers)], Timestamp.valueOf(now.minusDays(c + 1))});
+            }
+        }
+        insert(jdbc, "INSERT INTO comments (text, item_id, author_id, created_at) VALUES (?, ?, ?, ?)",
+                comments);
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private static long[] ids(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private static long[] slice(long[] ids, int from, int to) {
+        long[] slice = new long[to - from];
+        System.arraycopy(ids, from, slice, 0, slice.length);
+        return slice;
+    }
+}
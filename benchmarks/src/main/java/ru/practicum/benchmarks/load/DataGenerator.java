@@ -0,0 +1,265 @@
+package ru.practicum.benchmarks.load;
+
+import org.flywaydb.core.Flyway;
+import ru.practicum.booking.BookingStatus;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Fills empty {@code users}, {@code item_requests}, {@code items}, {@code bookings} and {@code comments}
+ * tables with a synthetic data set described by {@link DataSet}. Items are owned and booked with Zipf skew;
+ * {@code --bookings-per-item} bookings per item on average fall within {@code --history-days} before and
+ * {@code --future-days} after now without overlapping each other on the same item, and {@code --comment-ratio} of finished approved bookings get a comment.
+ * Applies the server's migrations first unless {@code --migrate=false}.
+ *
+ * <pre>
+ * java -cp benchmarks.jar ru.practicum.benchmarks.load.DataGenerator \
+ *     --url=jdbc:postgresql://localhost:5432/shareit?reWriteBatchedInserts=true \
+ *     --username=shareit --password=shareit --users=1000000 --items=5000000 --bookings-per-item=8
+ * </pre>
+ */
+public final class DataGenerator {
+
+    private static final int PROGRESS_STEP = 500_000;
+
+    private final DataSet dataSet;
+    private final int requests;
+    private final double bookingsPerItem;
+    private final int historyDays;
+    private final int futureDays;
+    private final double commentRatio;
+    private final int batchSize;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private DataGenerator(Options options) {
+        dataSet = new DataSet(options);
+        requests = options.getInt("requests", dataSet.users() / 10);
+        bookingsPerItem = options.getDouble("bookings-per-item", 5);
+        historyDays = options.getInt("history-days", 365);
+        futureDays = options.getInt("future-days", 60);
+        commentRatio = options.getDouble("comment-ratio", 0.3);
+        batchSize = options.getInt("batch-size", 1_000);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Options options = new Options(args);
+        String url = options.get("url", null);
+        if (url == null) {
+            throw new IllegalArgumentException("Не указан --url базы данных");
+        }
+        String username = options.get("username", "");
+        String password = options.get("password", "");
+        if (Boolean.parseBoolean(options.get("migrate", "true"))) {
+            Flyway.configure().dataSource(url, username, password).load().migrate();
+        }
+        DataGenerator generator = new DataGenerator(options);
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            connection.setAutoCommit(false);
+            generator.generate(connection);
+        }
+    }
+
+    private void generate(Connection connection) throws SQLException {
+        requireEmpty(connection);
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(dataSet.seed());
+        insertUsers(connection);
+        insertRequests(connection, random);
+        insertItems(connection, random);
+        insertBookingsAndComments(connection, random);
+        System.out.printf("Данные сгенерированы за %d с%n", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        try (BatchInsert users = new BatchInsert(connection, "users",
+                "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (int user = 0; user < dataSet.users(); user++) {
+                PreparedStatement row = users.row();
+                row.setLong(1, DataSet.id(user));
+                row.setString(2, "Пользователь " + DataSet.id(user));
+                row.setString(3, "user" + DataSet.id(user) + "@load.shareit.ru");
+                users.add();
+            }
+        }
+    }
+
+    private void insertRequests(Connection connection, SplittableRandom random) throws SQLException {
+        try (BatchInsert itemRequests = new BatchInsert(connection, "item_requests",
+                "INSERT INTO item_requests (id, description, requester_id, created_at) VALUES (?, ?, ?, ?)")) {
+            for (int request = 0; request < requests; request++) {
+                PreparedStatement row = itemRequests.row();
+                row.setLong(1, DataSet.id(request));
+                row.setString(2, "Ищу " + DataSet.NOUNS[random.nextInt(DataSet.NOUNS.length)]);
+                row.setLong(3, DataSet.id(dataSet.popularUser(random)));
+                row.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(random.nextLong(historyDays * 1440L + 1))));
+                itemRequests.add();
+            }
+        }
+    }
+
+    private void insertItems(Connection connection, SplittableRandom random) throws SQLException {
+        try (BatchInsert items = new BatchInsert(connection, "items",
+                "INSERT INTO items (id, name, description, is_available, owner_id, request_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int item = 0; item < dataSet.items(); item++) {
+                String name = dataSet.nameOf(item);
+                PreparedStatement row = items.row();
+                row.setLong(1, DataSet.id(item));
+                row.setString(2, name);
+                row.setString(3, name + ", в хорошем состоянии. Лот " + DataSet.id(item));
+                row.setBoolean(4, dataSet.isAvailable(item));
+                row.setLong(5, DataSet.id(dataSet.ownerOf(item)));
+                if (requests > 0 && random.nextInt(10) == 0) {
+                    row.setLong(6, DataSet.id(random.nextInt(requests)));
+                } else {
+                    row.setObject(6, null);
+                }
+                items.add();
+            }
+        }
+    }
+
+    /**
+     * Bookings of one item are laid out on its own timeline: the window is cut into as many consecutive
+     * slots as the item has bookings and each booking stays inside its slot, so approved and waiting
+     * bookings never overlap, as the server would have ensured. A booking that cannot get a slot of at
+     * least a minute is stored as rejected.
+     */
+    private void insertBookingsAndComments(Connection connection, SplittableRandom random) throws SQLException {
+        long total = Math.round(dataSet.items() * bookingsPerItem);
+        int[] bookingsOfItem = new int[dataSet.items()];
+        for (long booking = 0; booking < total; booking++) {
+            bookingsOfItem[dataSet.popularItem(random)]++;
+        }
+        long window = (historyDays + futureDays) * 1440L;
+        LocalDateTime windowStart = now.minusDays(historyDays);
+        try (BatchInsert bookings = new BatchInsert(connection, "bookings",
+                "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)");
+             BatchInsert comments = new BatchInsert(connection, "comments",
+                     "INSERT INTO comments (id, text, item_id, author_id, created_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int item = 0; item < bookingsOfItem.length; item++) {
+                int count = bookingsOfItem[item];
+                for (int slot = 0; slot < count; slot++) {
+                    int booker = dataSet.popularUser(random);
+                    if (booker == dataSet.ownerOf(item)) {
+                        booker = (booker + 1) % dataSet.users();
+                    }
+                    long slotStart = window * slot / count;
+                    long slotLength = window * (slot + 1) / count - slotStart;
+                    long startOffset = slotStart + random.nextLong(slotLength / 4 + 1);
+                    long length = Math.min(60 + random.nextLong(7 * 1440), slotStart + slotLength - startOffset);
+                    LocalDateTime start = windowStart.plusMinutes(startOffset);
+                    LocalDateTime end = start.plusMinutes(Math.max(length, 1));
+                    BookingStatus status = length < 1 ? BookingStatus.REJECTED : status(end, random);
+
+                    PreparedStatement row = bookings.row();
+                    row.setLong(1, bookings.count() + 1);
+                    row.setTimestamp(2, Timestamp.valueOf(start));
+                    row.setTimestamp(3, Timestamp.valueOf(end));
+                    row.setLong(4, DataSet.id(item));
+                    row.setLong(5, DataSet.id(booker));
+                    row.setString(6, status.name());
+                    bookings.add();
+
+                    if (status == BookingStatus.APPROVED && end.isBefore(now) && random.nextDouble() < commentRatio) {
+                        PreparedStatement comment = comments.row();
+                        comment.setLong(1, comments.count() + 1);
+                        comment.setString(2, "Всё понравилось: " + dataSet.nameOf(item));
+                        comment.setLong(3, DataSet.id(item));
+                        comment.setLong(4, DataSet.id(booker));
+                        comment.setTimestamp(5, Timestamp.valueOf(end.plusHours(1 + random.nextInt(72))));
+                        comments.add();
+                    }
+                }
+            }
+        }
+    }
+
+    private BookingStatus status(LocalDateTime end, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (end.isBefore(now)) {
+            return roll < 80 ? BookingStatus.APPROVED : roll < 92 ? BookingStatus.REJECTED : BookingStatus.CANCELED;
+        }
+        return roll < 50 ? BookingStatus.WAITING : roll < 95 ? BookingStatus.APPROVED : BookingStatus.CANCELED;
+    }
+
+    private static void requireEmpty(Connection connection) throws SQLException {
+        for (String table : new String[]{"users", "item_requests", "items", "bookings", "comments"}) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                rows.next();
+                if (rows.getLong(1) > 0) {
+                    throw new IllegalStateException("Таблица " + table + " не пуста, генератор заполняет только "
+                            + "пустую базу");
+                }
+            }
+        }
+    }
+
+    /**
+     * Batched inserts into one table with explicit ids. Commits every batch and, once closed, moves the
+     * table's identity past the inserted ids.
+     */
+    private final class BatchInsert implements AutoCloseable {
+
+        private final Connection connection;
+        private final String table;
+        private final PreparedStatement statement;
+        private long count;
+        private int pending;
+
+        BatchInsert(Connection connection, String table, String sql) throws SQLException {
+            this.connection = connection;
+            this.table = table;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        PreparedStatement row() {
+            return statement;
+        }
+
+        long count() {
+            return count;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            count++;
+            if (++pending == batchSize) {
+                flush();
+            }
+            if (count % PROGRESS_STEP == 0) {
+                System.out.printf("%s: %d строк%n", table, count);
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (statement) {
+                flush();
+            }
+            try (Statement restart = connection.createStatement()) {
+                restart.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (count + 1));
+            }
+            connection.commit();
+            System.out.printf("%s: всего %d строк%n", table, count);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.benchmarks.load;
+
+import java.util.SplittableRandom;
+
+/**
+ * The shape of a generated data set. Everything the workload driver needs to know about the rows, such as
+ * who owns an item, is a pure function of these parameters, so the driver only has to be started with the
+ * same {@code --users}, {@code --items}, {@code --seed} and exponents as {@link DataGenerator}. Ids are
+ * {@code index + 1}, since the generator fills empty tables.
+ */
+final class DataSet {
+
+    static final String[] NOUNS = {"дрель", "перфоратор", "шуруповёрт", "лестница", "палатка", "велосипед",
+            "самокат", "проектор", "пылесос", "мангал", "байдарка", "сноуборд", "лыжи", "генератор",
+            "болгарка", "удочка", "фотоаппарат", "штатив", "гитара", "рюкзак"};
+    static final String[] DETAILS = {"с чехлом", "в кейсе", "с зарядкой", "для дачи", "для похода",
+            "с инструкцией", "в упаковке", "для ремонта", "на выходные", "напрокат"};
+
+    private static final long OWNER_SALT = 0x6F776E6572L;
+    private static final long AVAILABILITY_SALT = 0x617661696CL;
+    private static final long NAME_SALT = 0x6E616D65L;
+
+    private final int users;
+    private final int items;
+    private final long seed;
+    private final Zipf userPopularity;
+    private final Zipf itemPopularity;
+    private final Zipf ownership;
+
+    DataSet(Options options) {
+        users = options.getInt("users", 100_000);
+        items = options.getInt("items", 1_000_000);
+        seed = options.getLong("seed", 42);
+        double popularity = options.getDouble("zipf", 0.99);
+        userPopularity = new Zipf(users, popularity);
+        itemPopularity = new Zipf(items, popularity);
+        ownership = new Zipf(users, options.getDouble("owner-zipf", 0.6));
+    }
+
+    int users() {
+        return users;
+    }
+
+    int items() {
+        return items;
+    }
+
+    long seed() {
+        return seed;
+    }
+
+    /**
+     * A user drawn by activity: a few users book and browse far more often than the rest.
+     */
+    int popularUser(SplittableRandom random) {
+        return userPopularity.index(random.nextDouble());
+    }
+
+    /**
+     * An item drawn by popularity.
+     */
+    int popularItem(SplittableRandom random) {
+        return itemPopularity.index(random.nextDouble());
+    }
+
+    int ownerOf(int item) {
+        return ownership.index(random(OWNER_SALT, item).nextDouble());
+    }
+
+    boolean isAvailable(int item) {
+        return random(AVAILABILITY_SALT, item).nextInt(10) != 0;
+    }
+
+    String nameOf(int item) {
+        SplittableRandom random = random(NAME_SALT, item);
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        return Character.toUpperCase(noun.charAt(0)) + noun.substring(1) + " "
+                + DETAILS[random.nextInt(DETAILS.length)];
+    }
+
+    static long id(int index) {
+        return index + 1L;
+    }
+
+    private SplittableRandom random(long salt, int index) {
+        return new SplittableRandom(seed ^ salt ^ (index * 0x9E3779B97F4A7C15L));
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint, recorded from any number of threads.
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String endpoint;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    long count() {
+        return latencies.getTotalCount() + failures.sum();
+    }
+
+    void record(int status, long nanos) {
+        latencies.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * The figures of the report, latencies in milliseconds.
+     */
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", endpoint);
+        summary.put("requests", count());
+        summary.put("throughput", count() / seconds);
+        summary.put("clientErrors", clientErrors.sum());
+        summary.put("serverErrors", serverErrors.sum());
+        summary.put("failures", failures.sum());
+        summary.put("p50", millis(latencies.getValueAtPercentile(50)));
+        summary.put("p90", millis(latencies.getValueAtPercentile(90)));
+        summary.put("p99", millis(latencies.getValueAtPercentile(99)));
+        summary.put("p999", millis(latencies.getValueAtPercentile(99.9)));
+        summary.put("max", millis(latencies.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
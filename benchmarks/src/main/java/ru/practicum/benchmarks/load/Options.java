@@ -0,0 +1,43 @@
+package ru.practicum.benchmarks.load;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.time.Duration;
+
+/**
+ * {@code --name=value} command line options with defaults.
+ */
+final class Options {
+
+    private final SimpleCommandLinePropertySource source;
+
+    Options(String[] args) {
+        source = new SimpleCommandLinePropertySource(args);
+    }
+
+    String get(String name, String defaultValue) {
+        String value = source.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = source.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.replace("_", ""));
+    }
+
+    long getLong(String name, long defaultValue) {
+        String value = source.getProperty(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    double getDouble(String name, double defaultValue) {
+        String value = source.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    Duration getDuration(String name, Duration defaultValue) {
+        String value = source.getProperty(name);
+        return value == null ? defaultValue : DurationStyle.detectAndParse(value);
+    }
+}
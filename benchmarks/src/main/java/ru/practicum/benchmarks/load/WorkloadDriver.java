@@ -0,0 +1,312 @@
+package ru.practicum.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a mix of gateway calls from {@code --threads} closed-loop clients for {@code --duration} after a
+ * {@code --warmup}, then prints throughput and latency percentiles per endpoint and writes them as JSON to
+ * {@code --report}. Users and items are picked with the Zipf skew of the {@link DataSet} generated by
+ * {@link DataGenerator}, so the driver has to be given the same data set options. Bookings it creates are
+ * later approved or rejected by the item owners.
+ *
+ * <pre>
+ * java -cp benchmarks.jar ru.practicum.benchmarks.load.WorkloadDriver --gateway=http://localhost:8080 \
+ *     --users=1000000 --items=5000000 --threads=64 --duration=5m \
+ *     --mix=get_item:30,search_items:15,owner_items:10,user_bookings:15,owner_bookings:10,create_booking:10,\
+ *     approve_booking:5,create_item:3,create_request:2
+ * </pre>
+ */
+public final class WorkloadDriver {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int PAGE_SIZE = 20;
+
+    enum Call {
+        GET_ITEM("GET /items/{id}", 30),
+        SEARCH_ITEMS("GET /items/search", 15),
+        OWNER_ITEMS("GET /items", 10),
+        USER_BOOKINGS("GET /bookings", 15),
+        OWNER_BOOKINGS("GET /bookings/owner", 10),
+        CREATE_BOOKING("POST /bookings", 10),
+        APPROVE_BOOKING("PATCH /bookings/{id}", 5),
+        CREATE_ITEM("POST /items", 3),
+        CREATE_REQUEST("POST /requests", 2);
+
+        private final String endpoint;
+        private final int defaultWeight;
+
+        Call(String endpoint, int defaultWeight) {
+            this.endpoint = endpoint;
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private final DataSet dataSet;
+    private final URI gateway;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Map<Call, EndpointStats> stats = new EnumMap<>(Call.class);
+    private final EndpointStats total = new EndpointStats("total");
+    private final BlockingQueue<long[]> awaitingApproval = new ArrayBlockingQueue<>(10_000);
+    private final Call[] calls;
+    private final int[] cumulativeWeights;
+    private volatile long measureFrom;
+
+    private WorkloadDriver(Options options) {
+        dataSet = new DataSet(options);
+        gateway = URI.create(options.get("gateway", "http://localhost:8080"));
+        timeout = options.getDuration("timeout", Duration.ofSeconds(10));
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        for (Call call : Call.values()) {
+            stats.put(call, new EndpointStats(call.endpoint));
+        }
+        Map<Call, Integer> mix = mix(options.get("mix", null));
+        calls = mix.keySet().toArray(new Call[0]);
+        cumulativeWeights = new int[calls.length];
+        int sum = 0;
+        for (int i = 0; i < calls.length; i++) {
+            sum += mix.get(calls[i]);
+            cumulativeWeights[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("В --mix нет ни одного вызова с положительным весом");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        WorkloadDriver driver = new WorkloadDriver(options);
+        int threads = options.getInt("threads", 32);
+        Duration warmup = options.getDuration("warmup", Duration.ofSeconds(30));
+        Duration duration = options.getDuration("duration", Duration.ofMinutes(2));
+        Map<String, Object> report = driver.run(threads, warmup, duration);
+        report.put("gateway", driver.gateway.toString());
+        report.put("threads", threads);
+        report.put("warmupSeconds", warmup.toSeconds());
+        Path path = Path.of(options.get("report", "load-report.json"));
+        driver.objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+        System.out.println("Отчёт записан в " + path.toAbsolutePath());
+    }
+
+    private Map<String, Object> run(int threads, Duration warmup, Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = new SplittableRandom(dataSet.seed() * 31 + i);
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    perform(next(random), random);
+                }
+            });
+        }
+        workers.shutdown();
+        while (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            System.out.printf("Прошло %d с, измерено запросов: %d%n",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), total.count());
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats endpoint : stats.values()) {
+            if (endpoint.count() > 0) {
+                endpoints.add(endpoint.summary(seconds));
+            }
+        }
+        Map<String, Object> totals = total.summary(seconds);
+        print(endpoints, totals);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", seconds);
+        report.put("endpoints", endpoints);
+        report.put("total", totals);
+        return report;
+    }
+
+    private Call next(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return calls[i];
+            }
+        }
+        return calls[calls.length - 1];
+    }
+
+    private void perform(Call call, SplittableRandom random) {
+        switch (call) {
+            case GET_ITEM -> send(call, get("/items/" + DataSet.id(dataSet.popularItem(random)),
+                    dataSet.popularUser(random)));
+            case SEARCH_ITEMS -> send(call, get("/items/search?size=" + PAGE_SIZE + "&text="
+                    + URLEncoder.encode(DataSet.NOUNS[random.nextInt(DataSet.NOUNS.length)],
+                    StandardCharsets.UTF_8), dataSet.popularUser(random)));
+            case OWNER_ITEMS -> send(call, get("/items?size=" + PAGE_SIZE,
+                    dataSet.ownerOf(dataSet.popularItem(random))));
+            case USER_BOOKINGS -> send(call, get("/bookings?state=ALL&size=" + PAGE_SIZE,
+                    dataSet.popularUser(random)));
+            case OWNER_BOOKINGS -> send(call, get("/bookings/owner?state=ALL&size=" + PAGE_SIZE,
+                    dataSet.ownerOf(dataSet.popularItem(random))));
+            case CREATE_BOOKING -> createBooking(random);
+            case APPROVE_BOOKING -> approveBooking(random);
+            case CREATE_ITEM -> {
+                int item = random.nextInt(dataSet.items());
+                send(call, post("/items", dataSet.popularUser(random), Map.of(
+                        "name", dataSet.nameOf(item),
+                        "description", dataSet.nameOf(item) + ", почти новый",
+                        "available", true)));
+            }
+            case CREATE_REQUEST -> send(call, post("/requests", dataSet.popularUser(random), Map.of(
+                    "description", "Ищу " + DataSet.NOUNS[random.nextInt(DataSet.NOUNS.length)])));
+        }
+    }
+
+    private void createBooking(SplittableRandom random) {
+        int item = dataSet.popularItem(random);
+        for (int attempt = 0; attempt < 10 && !dataSet.isAvailable(item); attempt++) {
+            item = dataSet.popularItem(random);
+        }
+        int owner = dataSet.ownerOf(item);
+        int booker = dataSet.popularUser(random);
+        if (booker == owner) {
+            booker = (booker + 1) % dataSet.users();
+        }
+        LocalDateTime start = LocalDateTime.now().withNano(0)
+                .plusDays(1 + random.nextInt(365))
+                .plusMinutes(random.nextInt(1440));
+        Map<String, Object> body = Map.of("itemId", DataSet.id(item), "start", start,
+                "end", start.plusHours(1 + random.nextInt(72)));
+        JsonNode created = send(Call.CREATE_BOOKING, post("/bookings", booker, body));
+        if (created != null && created.hasNonNull("id")) {
+            awaitingApproval.offer(new long[]{created.get("id").asLong(), owner});
+        }
+    }
+
+    private void approveBooking(SplittableRandom random) {
+        long[] booking = awaitingApproval.poll();
+        if (booking == null) {
+            createBooking(random);
+            return;
+        }
+        HttpRequest request = request("/bookings/" + booking[0] + "?approved=" + (random.nextInt(5) != 0),
+                (int) booking[1])
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        send(Call.APPROVE_BOOKING, request);
+    }
+
+    private HttpRequest get(String path, int user) {
+        return request(path, user).GET().build();
+    }
+
+    private HttpRequest post(String path, int user, Map<String, Object> body) {
+        try {
+            return request(path, user)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, int user) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(timeout)
+                .header(USER_ID_HEADER, String.valueOf(DataSet.id(user)));
+    }
+
+    /**
+     * Sends the request and records it once the warmup is over. Returns the parsed body of a successful
+     * response.
+     */
+    private JsonNode send(Call call, HttpRequest request) {
+        long started = System.nanoTime();
+        boolean measured = started >= measureFrom;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - started;
+            if (measured) {
+                stats.get(call).record(response.statusCode(), elapsed);
+                total.record(response.statusCode(), elapsed);
+            }
+            if (response.statusCode() / 100 == 2 && response.body().length > 0) {
+                return objectMapper.readTree(response.body());
+            }
+        } catch (IOException e) {
+            if (measured) {
+                stats.get(call).recordFailure();
+                total.recordFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private static Map<Call, Integer> mix(String option) {
+        Map<Call, Integer> mix = new EnumMap<>(Call.class);
+        if (option == null) {
+            for (Call call : Call.values()) {
+                mix.put(call, call.defaultWeight);
+            }
+            return mix;
+        }
+        for (String entry : option.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Ожидается вызов:вес в --mix, получено: " + entry);
+            }
+            mix.put(Call.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    private static void print(List<Map<String, Object>> endpoints, Map<String, Object> totals) {
+        String format = "%-22s %10s %10s %8s %8s %8s %9s %9s %9s %9s %9s%n";
+        System.out.printf(format, "endpoint", "requests", "req/s", "4xx", "5xx", "failed",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        List<Map<String, Object>> rows = new ArrayList<>(endpoints);
+        rows.add(totals);
+        for (Map<String, Object> row : rows) {
+            System.out.printf(format, row.get("endpoint"), row.get("requests"),
+                    String.format(Locale.ROOT, "%.1f", (double) row.get("throughput")),
+                    row.get("clientErrors"), row.get("serverErrors"), row.get("failures"),
+                    decimal(row.get("p50")), decimal(row.get("p90")), decimal(row.get("p99")),
+                    decimal(row.get("p999")), decimal(row.get("max")));
+        }
+    }
+
+    private static String decimal(Object millis) {
+        return String.format(Locale.ROOT, "%.2f", (double) millis);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.benchmarks.load;
+
+import java.util.Arrays;
+
+/**
+ * Zipf distribution over {@code 0..n-1}: the k-th most popular index is drawn with probability proportional
+ * to {@code 1 / k^exponent}. The ranks are scattered over the indexes, so popular rows are not simply the
+ * first ones inserted. Keeps the cumulative distribution, eight bytes per index.
+ */
+final class Zipf {
+
+    private static final long SCATTER = 2_147_483_647L;
+
+    private final double[] cdf;
+
+    Zipf(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Распределение Ципфа требует хотя бы один элемент");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    int size() {
+        return cdf.length;
+    }
+
+    /**
+     * Maps {@code uniform}, drawn from {@code [0, 1)}, to an index.
+     */
+    int index(double uniform) {
+        int rank = Arrays.binarySearch(cdf, uniform);
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        rank = Math.min(rank, cdf.length - 1);
+        return scatter(rank);
+    }
+
+    private int scatter(int rank) {
+        int n = cdf.length;
+        if (n % SCATTER == 0) {
+            return rank;
+        }
+        return (int) (rank * SCATTER % n);
+    }
+}
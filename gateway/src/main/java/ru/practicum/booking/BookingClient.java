@@ -9,21 +9,24 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.booking.dto.BookingRequestDto;
 import ru.practicum.booking.dto.BookingState;
 import ru.practicum.client.BaseClient;
+import ru.practicum.client.ServerTransport;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(RestTemplate restTemplate) {
-        super(restTemplate, API_PREFIX);
+    public BookingClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
     @Override
@@ -31,34 +34,44 @@ public class BookingClient extends BaseClient {
         return API_PREFIX;
     }
 
-    public ResponseEntity<Object> bookItem(long userId, BookingRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> bookItem(long userId, BookingRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> approveBooking(long ownerId, long bookingId, boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approveBooking(long ownerId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(long userId, long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsForUser(long userId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getBookingsForUser(long userId, BookingState state, int from, int size, String after) {
+        return get(listingPath("", after), userId, listingParameters(state, from, size, after));
     }
 
-    public ResponseEntity<Object> getBookingsForOwner(long ownerId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getBookingsForOwner(long ownerId, BookingState state, int from, int size, String after) {
+        return get(listingPath("/owner", after), ownerId, listingParameters(state, from, size, after));
+    }
+
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> exportBookingsForOwner(long ownerId, BookingState state) {
+        return stream("/owner/export?state={state}", ownerId, Map.of("state", state.name()));
+    }
+
+    private static String listingPath(String path, String after) {
+        String query = path + "?state={state}&from={from}&size={size}";
+        return after == null ? query : query + "&after={after}";
+    }
+
+    private static Map<String, Object> listingParameters(BookingState state, int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (after != null) {
+            parameters.put("after", after);
+        }
+        return parameters;
     }
 }
\ No newline at end of file
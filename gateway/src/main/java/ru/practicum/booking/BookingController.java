@@ -8,10 +8,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.booking.dto.BookingRequestDto;
 import ru.practicum.booking.dto.BookingState;
 import ru.practicum.exception.UnknownStateException;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
@@ -22,43 +25,57 @@ public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader(USER_ID_HEADER) Long bookerId,
+    public CompletableFuture<ResponseEntity<Object>> createBooking(@RequestHeader(USER_ID_HEADER) Long bookerId,
                                                 @Valid @RequestBody BookingRequestDto bookingDto) {
         return bookingClient.bookItem(bookerId, bookingDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@RequestHeader(USER_ID_HEADER) Long ownerId,
+    public CompletableFuture<ResponseEntity<Object>> approveBooking(@RequestHeader(USER_ID_HEADER) Long ownerId,
                                                  @PathVariable Long bookingId,
                                                  @RequestParam boolean approved) {
         return bookingClient.approveBooking(ownerId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader(USER_ID_HEADER) Long userId,
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(@RequestHeader(USER_ID_HEADER) Long userId,
                                                  @PathVariable Long bookingId) {
         return bookingClient.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsForUser(
+    public CompletableFuture<ResponseEntity<Object>> getBookingsForUser(
             @RequestHeader(USER_ID_HEADER) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-            @Positive @RequestParam(defaultValue = "10") int size) {
+            @Positive @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnknownStateException("Unknown state: " + stateParam));
-        return bookingClient.getBookingsForUser(userId, state, from, size);
+        return bookingClient.getBookingsForUser(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsForOwner(
+    public CompletableFuture<ResponseEntity<Object>> getBookingsForOwner(
             @RequestHeader(USER_ID_HEADER) Long ownerId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-            @Positive @RequestParam(defaultValue = "10") int size) {
+            @Positive @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new UnknownStateException("Unknown state: " + stateParam));
+        return bookingClient.getBookingsForOwner(ownerId, state, from, size, after);
+    }
+
+    /**
+     * The owner's whole booking history as NDJSON, relayed from the server as it is read.
+     */
+    @GetMapping("/owner/export")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> exportBookingsForOwner(
+            @RequestHeader(USER_ID_HEADER) Long ownerId,
+            @RequestParam(name = "state", defaultValue = "ALL") String stateParam) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnknownStateException("Unknown state: " + stateParam));
-        return bookingClient.getBookingsForOwner(ownerId, state, from, size);
+        return bookingClient.exportBookingsForOwner(ownerId, state);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package ru.practicum.client;
+
+/**
+ * Additive-increase/multiplicative-decrease limit on calls in flight. The limit starts at
+ * {@code maxLimit}, so a fresh gateway does not reject traffic it could serve. A call that finishes fast
+ * while the limit is at least half used raises the limit by about one per limit's worth of calls; a call
+ * that was slow or ran into an overloaded server cuts it by {@code backoffRatio}, unless it started before
+ * the previous cut: a burst of slow calls reports one slow latency window, so it backs off once. The limit
+ * stays within {@code [minLimit, maxLimit]}.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private boolean backedOff;
+    private long backedOffAt;
+
+    public AimdConcurrencyLimiter(int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = this.maxLimit;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release(long latencyNanos, boolean overloaded) {
+        int used = inFlight--;
+        if (overloaded || latencyNanos > latencyThresholdNanos) {
+            long now = System.nanoTime();
+            if (!backedOff || now - latencyNanos - backedOffAt >= 0) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                backedOff = true;
+                backedOffAt = now;
+            }
+        } else if (used * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
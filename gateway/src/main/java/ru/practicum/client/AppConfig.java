@@ -1,27 +1,149 @@
 package ru.practicum.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@Slf4j
+@EnableConfigurationProperties({HttpTransportProperties.class, ResponseCacheProperties.class,
+        ResilienceProperties.class})
 public class AppConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager serverConnectionManager(HttpTransportProperties properties,
+                                                                      MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                HttpTransportProperties properties, MeterRegistry meterRegistry) {
+        return HttpClients.custom()
+                .setConnectionManager(new TimedConnectionManager(serverConnectionManager, meterRegistry))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getPoolAcquireTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setConnectionKeepAlive(TimeValue.of(properties.getKeepAlive()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .build();
+    }
+
+    /**
+     * Connection pool of {@link WebClientTransport}; a bean so that the context disposes it on shutdown.
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "shareit-server.client", havingValue = "reactive")
+    public ConnectionProvider serverConnectionProvider(HttpTransportProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxConnectionsPerRoute())
+                .pendingAcquireMaxCount(properties.getMaxPendingRequests())
+                .pendingAcquireTimeout(properties.getPoolAcquireTimeout())
+                .maxIdleTime(properties.getIdleEviction())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public ClientHttpRequestFactory clientHttpRequestFactory() {
-        return new HttpComponentsClientHttpRequestFactory();
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
     }
 
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory clientHttpRequestFactory, @Value("${shareit-server.url}") String serverUrl) {
         return builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-                .requestFactory(() -> clientHttpRequestFactory())
+                .requestFactory(() -> clientHttpRequestFactory)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Bounds relayed streams by {@code shareit-server.http.stream-timeout} and releases their server
+     * connection when the request ends before the body has been written.
+     */
+    @Bean
+    public WebMvcConfigurer streamingRelayConfigurer(HttpTransportProperties properties) {
+        StreamingRelayInterceptor interceptor = new StreamingRelayInterceptor(properties.getStreamTimeout());
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(interceptor);
+                configurer.registerDeferredResultInterceptors(interceptor);
+            }
+        };
+    }
+
+    /**
+     * The transport the clients use: the HTTP transport chosen by {@code shareit-server.client}, guarded
+     * against overload ({@code shareit-server.resilience.enabled}), with concurrent identical reads
+     * coalesced ({@code shareit-server.coalesce-reads}) and behind the response cache
+     * ({@code shareit-server.cache.enabled}).
+     */
+    @Bean
+    @Primary
+    public ServerTransport serverTransport(@Qualifier("serverHttpTransport") ServerTransport serverHttpTransport,
+                                           @Value("${shareit-server.coalesce-reads:true}") boolean coalesceReads,
+                                           ResilienceProperties resilienceProperties,
+                                           ResponseCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        ServerTransport transport = serverHttpTransport;
+        if (resilienceProperties.isEnabled()) {
+            transport = new ResilientServerTransport(transport, resilienceProperties, meterRegistry);
+        }
+        if (coalesceReads) {
+            transport = new CoalescingServerTransport(transport, meterRegistry);
+        }
+        if (cacheProperties.isEnabled()) {
+            transport = new CachingServerTransport(transport, cacheProperties, meterRegistry);
+        }
+        return transport;
+    }
+
+    /**
+     * Requests, and the blocking {@code RestTemplate} calls they make, run on virtual threads when
+     * {@code spring.threads.virtual.enabled=true} on Java 21+; otherwise on the Tomcat worker pool.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode(ApplicationReadyEvent event) {
+        log.info("Виртуальные потоки для запросов: {}",
+                Threading.VIRTUAL.isActive(event.getApplicationContext().getEnvironment()));
+    }
+}
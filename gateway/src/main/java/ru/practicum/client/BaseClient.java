@@ -2,108 +2,124 @@ package ru.practicum.client;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class BaseClient {
-    protected final RestTemplate rest;
+    protected final ServerTransport transport;
     private final String apiPrefix;
     private static final Logger logger = LoggerFactory.getLogger(BaseClient.class);
-
-    public BaseClient(RestTemplate rest, String apiPrefix) {
-        this.rest = rest;
+    /**
+     * Response headers copied from the server. The body is relayed as the server's bytes, so its
+     * content type must come along with it, and keyset listings hand out their next cursor in
+     * {@code X-Next-Cursor}; connection-level headers are left to the gateway's own connection.
+     */
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.LOCATION,
+            "X-Next-Cursor");
+
+    public BaseClient(ServerTransport transport, String apiPrefix) {
+        this.transport = transport;
         this.apiPrefix = apiPrefix;
     }
 
     protected abstract String getApiPath();
 
-    protected ResponseEntity<Object> get(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    /**
+     * GET whose body is copied to the gateway's response as the server produces it rather than buffered.
+     */
+    protected CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(String path, Long userId,
+                                                                              @Nullable Map<String, Object> parameters) {
+        return stream(HttpMethod.GET, path, userId, parameters, null);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        String fullPath = getApiPath() + path;
+    protected <T> CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                                  Long userId,
+                                                                                  @Nullable Map<String, Object> parameters,
+                                                                                  @Nullable T body) {
+        CompletableFuture<ResponseEntity<StreamingResponseBody>> response =
+                transport.stream(method, getApiPath() + path, defaultHeaders(userId), parameters, body);
+        StreamingRelay.track(response);
+        return response.thenApply(relayed -> passthrough(relayed).body(relayed.getBody()));
+    }
 
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(fullPath, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(fullPath, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
-        }
-        return prepareGatewayResponse(shareitServerResponse);
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        String fullPath = getApiPath() + path;
+        return transport.exchange(method, fullPath, defaultHeaders(userId), parameters, body)
+                .thenApply(BaseClient::prepareGatewayResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -116,12 +132,8 @@ public abstract class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = passthrough(response);
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -129,4 +141,16 @@ public abstract class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity.BodyBuilder passthrough(ResponseEntity<?> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        HttpHeaders headers = response.getHeaders();
+        for (String name : PASSTHROUGH_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null) {
+                responseBuilder.header(name, values.toArray(String[]::new));
+            }
+        }
+        return responseBuilder;
+    }
+}
@@ -0,0 +1,190 @@
+package ru.practicum.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers repeated GETs of single items, users and requests from a bounded Caffeine cache (W-TinyLFU
+ * eviction, expiry after write). Entries are keyed by path, query parameters and the
+ * {@code X-Sharer-User-Id} header, since item views differ for the owner. Every entry remembers the
+ * generations of its region and resource when its GET started; a successful write through the gateway
+ * advances only the generations it can affect (a streamed write both when it starts and when it ends),
+ * so a write costs the same however large the cache is, entries it touched are never served again and a
+ * GET that was in flight during such a write is not stored. Outdated entries are left to eviction.
+ * Counters {@code gateway.response.cache.requests} and {@code gateway.response.cache.evictions} are
+ * tagged by route. Streamed responses are never cached.
+ */
+public class CachingServerTransport implements ServerTransport {
+
+    private static final List<CachedRoute> ROUTES = List.of(
+            new CachedRoute("items/{id}", "items", Pattern.compile("^/items/(\\d+)$")),
+            new CachedRoute("users/{id}", "users", Pattern.compile("^/users/(\\d+)$")),
+            new CachedRoute("requests/all", "requests", Pattern.compile("^/requests/all$")),
+            new CachedRoute("requests/{id}", "requests", Pattern.compile("^/requests/(\\d+)$")));
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ServerTransport delegate;
+    private final MeterRegistry meterRegistry;
+    private final Cache<Key, Entry> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public CachingServerTransport(ServerTransport delegate, ResponseCacheProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTimeToLive())
+                .removalListener((Key key, Entry value, RemovalCause cause) -> {
+                    if (key != null && cause.wasEvicted()) {
+                        Counter.builder("gateway.response.cache.evictions")
+                                .tag("route", key.route().name())
+                                .tag("cause", cause.name().toLowerCase())
+                                .register(meterRegistry)
+                                .increment();
+                    }
+                })
+                .build();
+        Gauge.builder("gateway.response.cache.size", cache, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        ServerRequestKey request = ServerRequestKey.of(path, parameters, headers);
+        String resourcePath = request.resourcePath();
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .whenComplete((response, e) -> {
+                        if (response != null && response.getStatusCode().is2xxSuccessful()) {
+                            invalidate(method, resourcePath);
+                        }
+                    });
+        }
+
+        for (CachedRoute route : ROUTES) {
+            Matcher matcher = route.pattern().matcher(resourcePath);
+            if (matcher.matches()) {
+                String resource = matcher.groupCount() > 0 ? route.region() + "/" + matcher.group(1) : null;
+                Key key = new Key(route, resource, request);
+                return cachedExchange(key, method, path, headers, parameters);
+            }
+        }
+        return delegate.exchange(method, path, headers, parameters, body);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                           HttpHeaders headers,
+                                                                           @Nullable Map<String, Object> parameters,
+                                                                           @Nullable Object body) {
+        CompletableFuture<ResponseEntity<StreamingResponseBody>> response =
+                delegate.stream(method, path, headers, parameters, body);
+        if (method == HttpMethod.GET) {
+            return response;
+        }
+        // a streamed write may keep committing while its body is relayed, so invalidate again once it ends
+        String resourcePath = ServerRequestKey.of(path, parameters, headers).resourcePath();
+        return response.thenApply(result -> {
+            if (!result.getStatusCode().is2xxSuccessful()) {
+                return result;
+            }
+            invalidate(method, resourcePath);
+            return ResponseEntity.status(result.getStatusCode())
+                    .headers(result.getHeaders())
+                    .<StreamingResponseBody>body(new StreamingRelay(out -> {
+                        if (result.getBody() != null) {
+                            result.getBody().writeTo(out);
+                        }
+                    }, () -> {
+                        StreamingRelay.release(result);
+                        invalidate(method, resourcePath);
+                    }));
+        });
+    }
+
+    private CompletableFuture<ResponseEntity<byte[]>> cachedExchange(Key key, HttpMethod method, String path,
+                                                                     HttpHeaders headers,
+                                                                     @Nullable Map<String, Object> parameters) {
+        long regionGeneration = generation(key.route().region());
+        long resourceGeneration = key.resource() != null ? generation(key.resource()) : 0;
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isCurrent(regionGeneration, resourceGeneration)) {
+            cache.asMap().remove(key, cached);
+            cached = null;
+        }
+        count(key.route(), cached != null ? "hit" : "miss");
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.response());
+        }
+        return delegate.exchange(method, path, headers, parameters, null)
+                .whenComplete((response, e) -> {
+                    if (response != null && response.getStatusCode().is2xxSuccessful()) {
+                        cache.put(key, new Entry(response, regionGeneration, resourceGeneration));
+                    }
+                });
+    }
+
+    private void invalidate(HttpMethod method, String path) {
+        String[] segments = path.substring(1).split("/");
+        Set<String> regions = switch (segments[0]) {
+            case "users" -> method == HttpMethod.DELETE ? Set.of("users", "items", "requests") : Set.of();
+            case "items" -> segments.length > 2 ? Set.of() : Set.of("requests");
+            case "bookings" -> method == HttpMethod.PATCH ? Set.of("items") : Set.of();
+            case "requests" -> Set.of("requests");
+            default -> Set.of();
+        };
+        regions.forEach(region -> generations.incrementAndGet(stripe(region)));
+        if (segments.length > 1) {
+            generations.incrementAndGet(stripe(segments[0] + "/" + segments[1]));
+        }
+    }
+
+    private long generation(String regionOrResource) {
+        return generations.get(stripe(regionOrResource));
+    }
+
+    private static int stripe(String regionOrResource) {
+        return Math.floorMod(regionOrResource.hashCode(), GENERATION_STRIPES);
+    }
+
+    private void count(CachedRoute route, String result) {
+        Counter.builder("gateway.response.cache.requests")
+                .tag("route", route.name())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record CachedRoute(String name, String region, Pattern pattern) {
+    }
+
+    private record Key(CachedRoute route, @Nullable String resource, ServerRequestKey request) {
+    }
+
+    private record Entry(ResponseEntity<byte[]> response, long regionGeneration, long resourceGeneration) {
+
+        boolean isCurrent(long regionGeneration, long resourceGeneration) {
+            return this.regionGeneration == regionGeneration && this.resourceGeneration == resourceGeneration;
+        }
+    }
+}
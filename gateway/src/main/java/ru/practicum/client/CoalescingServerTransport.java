@@ -0,0 +1,93 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for reads: a GET identical to one already in flight (same path, parameters and user)
+ * waits for that call's response instead of making its own. Each caller gets its own copy of the
+ * shared future, so cancelling one does not affect the others. A successful write detaches the calls
+ * in flight, so reads issued after it never join a call that started before it. Streams are not
+ * shared.
+ */
+public class CoalescingServerTransport implements ServerTransport {
+
+    private final ServerTransport delegate;
+    private final ConcurrentHashMap<ServerRequestKey, CompletableFuture<ResponseEntity<byte[]>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public CoalescingServerTransport(ServerTransport delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.leaders = Counter.builder("gateway.coalescing.requests").tag("result", "upstream")
+                .register(meterRegistry);
+        this.followers = Counter.builder("gateway.coalescing.requests").tag("result", "joined")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .whenComplete((response, e) -> {
+                        if (response != null && response.getStatusCode().is2xxSuccessful()) {
+                            inFlight.clear();
+                        }
+                    });
+        }
+
+        ServerRequestKey key = ServerRequestKey.of(path, parameters, headers);
+        CompletableFuture<ResponseEntity<byte[]>> shared = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<byte[]>> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            followers.increment();
+            return existing.copy();
+        }
+
+        leaders.increment();
+        try {
+            delegate.exchange(method, path, headers, parameters, null)
+                    .whenComplete((response, e) -> {
+                        inFlight.remove(key, shared);
+                        if (e != null) {
+                            shared.completeExceptionally(e);
+                        } else {
+                            shared.complete(response);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+        }
+        return shared.copy();
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                           HttpHeaders headers,
+                                                                           @Nullable Map<String, Object> parameters,
+                                                                           @Nullable Object body) {
+        CompletableFuture<ResponseEntity<StreamingResponseBody>> response =
+                delegate.stream(method, path, headers, parameters, body);
+        if (method == HttpMethod.GET) {
+            return response;
+        }
+        return response.whenComplete((result, e) -> {
+            if (result != null && result.getStatusCode().is2xxSuccessful()) {
+                inFlight.clear();
+            }
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the pooled HTTP transport between the gateway and the server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpTransportProperties {
+
+    private int maxConnections = 200;
+
+    private int maxConnectionsPerRoute = 100;
+
+    /**
+     * Requests allowed to wait for a connection in the reactive transport.
+     */
+    private int maxPendingRequests = 10_000;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long a request may wait for a free pooled connection.
+     */
+    private Duration poolAcquireTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Keep-alive used when the server does not send a Keep-Alive header.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * How long a relayed stream (an export) may take to be written to the client; past it the stream is
+     * cut and its server connection released.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(10);
+}
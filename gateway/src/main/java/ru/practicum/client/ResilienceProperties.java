@@ -0,0 +1,71 @@
+package ru.practicum.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Overload protection of the gateway-to-server hop: per-client bulkheads, an adaptive limit on all
+ * calls in flight and a circuit breaker.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Concurrent calls allowed per client, keyed by the first path segment ({@code bookings},
+     * {@code items}, {@code users}, {@code requests}); streamed imports use {@code <client>-import}.
+     */
+    private Map<String, Integer> bulkheads = new HashMap<>();
+
+    private int defaultBulkhead = 50;
+
+    private final Limiter limiter = new Limiter();
+
+    private final Breaker circuitBreaker = new Breaker();
+
+    @Getter
+    @Setter
+    public static class Limiter {
+
+        private int minLimit = 4;
+
+        /**
+         * Where the limit starts and the most it grows back to after backing off.
+         */
+        private int maxLimit = 100;
+
+        /**
+         * Calls slower than this count as a sign of overload and shrink the limit.
+         */
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        private double backoffRatio = 0.9;
+    }
+
+    @Getter
+    @Setter
+    public static class Breaker {
+
+        private float failureRateThreshold = 50;
+
+        private Duration slowCallThreshold = Duration.ofSeconds(3);
+
+        private float slowCallRateThreshold = 80;
+
+        private int slidingWindowSize = 50;
+
+        private int minimumNumberOfCalls = 20;
+
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+
+        private int permittedCallsInHalfOpenState = 5;
+    }
+}
@@ -0,0 +1,216 @@
+package ru.practicum.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.exception.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load instead of queueing it when the server slows down. A call must pass, in order, the circuit
+ * breaker (open after too many failed, 5xx or slow calls), the bulkhead of its client, so one busy
+ * endpoint family cannot take every connection, and the adaptive {@link AimdConcurrencyLimiter}. A
+ * rejected call fails at once with {@link ServerUnavailableException}, which the gateway answers with
+ * 503. Rejections are counted in {@code gateway.requests.rejected}, tagged by client and reason.
+ */
+@Slf4j
+public class ResilientServerTransport implements ServerTransport {
+
+    private static final String SERVER = "shareit-server";
+
+    private final ServerTransport delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final BulkheadRegistry bulkheads;
+    private final ResilienceProperties properties;
+    private final AimdConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+
+    public ResilientServerTransport(ServerTransport delegate, ResilienceProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        ResilienceProperties.Breaker breaker = properties.getCircuitBreaker();
+        CircuitBreakerRegistry breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slowCallDurationThreshold(breaker.getSlowCallThreshold())
+                .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                .waitDurationInOpenState(breaker.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedCallsInHalfOpenState())
+                .recordResult(result -> result instanceof ResponseEntity<?> response
+                        && response.getStatusCode().is5xxServerError())
+                .build());
+        this.circuitBreaker = breakers.circuitBreaker(SERVER);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker сервера: {}", event.getStateTransition()));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakers).bindTo(meterRegistry);
+
+        this.bulkheads = BulkheadRegistry.of(bulkheadConfig(properties.getDefaultBulkhead()));
+        properties.getBulkheads().forEach((client, maxCalls) ->
+                bulkheads.bulkhead(client, bulkheadConfig(maxCalls)));
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+
+        ResilienceProperties.Limiter limits = properties.getLimiter();
+        this.limiter = new AimdConcurrencyLimiter(limits.getMinLimit(), limits.getMaxLimit(),
+                limits.getLatencyThreshold().toNanos(), limits.getBackoffRatio());
+        Gauge.builder("gateway.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limiter, AimdConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        String client = clientOf(path);
+        Bulkhead bulkhead = bulkheads.bulkhead(client, () -> bulkheadConfig(properties.getDefaultBulkhead()));
+        ServerUnavailableException rejection = admit(client, bulkhead, true);
+        if (rejection != null) {
+            return CompletableFuture.failedFuture(rejection);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<ResponseEntity<byte[]>> response;
+        try {
+            response = delegate.exchange(method, path, headers, parameters, body);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((result, e) -> {
+            long elapsed = System.nanoTime() - start;
+            bulkhead.onComplete();
+            limiter.release(elapsed, e != null || isOverloaded(result.getStatusCode()));
+            if (e != null) {
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, e);
+            } else {
+                circuitBreaker.onResult(elapsed, TimeUnit.NANOSECONDS, result);
+            }
+        });
+    }
+
+    /**
+     * A stream holds its bulkhead permit until the body has been written or released. Streams bypass the
+     * adaptive limiter: how long a body takes to copy says nothing about how loaded the server is. For a
+     * streamed read (an export) the breaker sees the time to the response headers. A streamed write (an
+     * import) commits chunk by chunk for as long as it takes, so it gets its own
+     * {@code <client>-import} bulkhead and the breaker records only its outcome, never a slow call.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                           HttpHeaders headers,
+                                                                           @Nullable Map<String, Object> parameters,
+                                                                           @Nullable Object body) {
+        boolean write = method != HttpMethod.GET;
+        String client = write ? clientOf(path) + "-import" : clientOf(path);
+        Bulkhead bulkhead = bulkheads.bulkhead(client, () -> bulkheadConfig(properties.getDefaultBulkhead()));
+        ServerUnavailableException rejection = admit(client, bulkhead, false);
+        if (rejection != null) {
+            return CompletableFuture.failedFuture(rejection);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<ResponseEntity<StreamingResponseBody>> response;
+        try {
+            response = delegate.stream(method, path, headers, parameters, body);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.handle((result, e) -> {
+            long elapsed = write ? 0 : System.nanoTime() - start;
+            if (e != null) {
+                bulkhead.onComplete();
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, e);
+                throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+            }
+            circuitBreaker.onResult(elapsed, TimeUnit.NANOSECONDS, result);
+            StreamingResponseBody content = result.getBody();
+            return ResponseEntity.status(result.getStatusCode())
+                    .headers(result.getHeaders())
+                    .<StreamingResponseBody>body(new StreamingRelay(out -> {
+                        if (content != null) {
+                            content.writeTo(out);
+                        }
+                    }, () -> {
+                        StreamingRelay.release(result);
+                        bulkhead.onComplete();
+                    }));
+        });
+    }
+
+    /**
+     * Takes a permit from the circuit breaker, the bulkhead and, if {@code limited}, the limiter, giving
+     * back the ones already taken when a later one refuses. Returns the rejection, or null if admitted.
+     */
+    @Nullable
+    private ServerUnavailableException admit(String client, Bulkhead bulkhead, boolean limited) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return reject(client, "circuit-open", "Сервер недоступен, повторите запрос позже.");
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            return reject(client, "bulkhead", "Слишком много одновременных запросов, повторите запрос позже.");
+        }
+        if (limited && !limiter.tryAcquire()) {
+            bulkhead.onComplete();
+            circuitBreaker.releasePermission();
+            return reject(client, "limit", "Сервер перегружен, повторите запрос позже.");
+        }
+        return null;
+    }
+
+    private ServerUnavailableException reject(String client, String reason, String message) {
+        Counter.builder("gateway.requests.rejected")
+                .tag("client", client)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new ServerUnavailableException(message);
+    }
+
+    private static boolean isOverloaded(HttpStatusCode status) {
+        return status.isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                || status.isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT)
+                || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private static BulkheadConfig bulkheadConfig(int maxConcurrentCalls) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+    }
+
+    private static String clientOf(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = start;
+        while (end < path.length() && Character.isLetter(path.charAt(end))) {
+            end++;
+        }
+        return end > start ? path.substring(start, end) : "root";
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the gateway's cache of server responses to GET requests.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxEntries = 10_000;
+
+    /**
+     * Upper bound on staleness for changes the gateway does not see, such as an approved booking
+     * becoming the item's last booking as time passes.
+     */
+    private Duration timeToLive = Duration.ofSeconds(10);
+}
@@ -0,0 +1,84 @@
+package ru.practicum.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.exception.ServerUnavailableException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Blocking transport: the request runs on the calling thread and the returned future is already
+ * complete.
+ */
+@Component("serverHttpTransport")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateTransport implements ServerTransport {
+
+    private final RestTemplate rest;
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        try {
+            if (parameters != null) {
+                return CompletableFuture.completedFuture(
+                        rest.exchange(path, method, requestEntity, byte[].class, parameters));
+            }
+            return CompletableFuture.completedFuture(rest.exchange(path, method, requestEntity, byte[].class));
+        } catch (HttpStatusCodeException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(e.getStatusCode())
+                            .headers(e.getResponseHeaders())
+                            .body(e.getResponseBodyAsByteArray()));
+        } catch (ResourceAccessException e) {
+            return CompletableFuture.failedFuture(new ServerUnavailableException("Сервер не отвечает."));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new RuntimeException("An unexpected error occurred", e));
+        }
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                           HttpHeaders headers,
+                                                                           @Nullable Map<String, Object> parameters,
+                                                                           @Nullable Object body) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(new HttpEntity<>(body, headers)).doWithRequest(request);
+            ClientHttpResponse response = request.execute();
+            HttpStatusCode status;
+            try {
+                status = response.getStatusCode();
+            } catch (IOException e) {
+                response.close();
+                throw e;
+            }
+            StreamingResponseBody relay = new StreamingRelay(out -> response.getBody().transferTo(out),
+                    response::close);
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(status).headers(response.getHeaders()).body(relay));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new ServerUnavailableException("Сервер не отвечает."));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Identity of a gateway request to the server: the path with its template variables and query
+ * parameters expanded, plus the acting user, since responses depend on who asks.
+ */
+record ServerRequestKey(URI uri, @Nullable String userId) {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    static ServerRequestKey of(String path, @Nullable Map<String, Object> parameters, HttpHeaders headers) {
+        URI uri = UriComponentsBuilder.fromUriString(path)
+                .build()
+                .expand(parameters != null ? parameters : Map.of())
+                .toUri();
+        return new ServerRequestKey(uri, headers.getFirst(USER_ID_HEADER));
+    }
+
+    String resourcePath() {
+        return uri.getPath();
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends a gateway request to the server. Selected with {@code shareit-server.client}: {@code blocking}
+ * ({@link RestTemplateTransport}, the default) or {@code reactive} ({@link WebClientTransport}).
+ * Every response, error or not, completes normally with the server's status, headers and raw body
+ * bytes; transport failures complete exceptionally.
+ */
+public interface ServerTransport {
+
+    CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters,
+                                                       @Nullable Object body);
+
+    /**
+     * Sends the request and completes once the response headers arrive. The body is read from the server
+     * only while the returned {@link StreamingResponseBody} writes it out, so a large response (an export,
+     * the row-by-row report of an import) is relayed without being held in memory. This default buffers
+     * the response through {@link #exchange}.
+     */
+    default CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                            HttpHeaders headers,
+                                                                            @Nullable Map<String, Object> parameters,
+                                                                            @Nullable Object body) {
+        return exchange(method, path, headers, parameters, body)
+                .thenApply(response -> ResponseEntity.status(response.getStatusCode())
+                        .headers(response.getHeaders())
+                        .body(out -> {
+                            if (response.getBody() != null) {
+                                out.write(response.getBody());
+                            }
+                        }));
+    }
+}
+
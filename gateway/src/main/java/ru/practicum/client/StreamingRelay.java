@@ -0,0 +1,77 @@
+package ru.practicum.client;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Relayed response body that holds what it needs to relay (the server connection, a bulkhead permit)
+ * until it has been written. When the body is never written or stops halfway (the async request timed
+ * out or failed, the client went away), {@link #release()} gives the resources back; either way they
+ * are released exactly once.
+ */
+public final class StreamingRelay implements StreamingResponseBody {
+
+    private static final String TRACKED_ATTRIBUTE = StreamingRelay.class.getName() + ".response";
+
+    private final StreamingResponseBody body;
+    private final Runnable onRelease;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    public StreamingRelay(StreamingResponseBody body, Runnable onRelease) {
+        this.body = body;
+        this.onRelease = onRelease;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        if (released.get()) {
+            throw new IOException("Ответ сервера уже закрыт.");
+        }
+        try {
+            body.writeTo(out);
+        } finally {
+            release();
+        }
+    }
+
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            onRelease.run();
+        }
+    }
+
+    public static void release(@Nullable ResponseEntity<StreamingResponseBody> response) {
+        if (response != null && response.getBody() instanceof StreamingRelay relay) {
+            relay.release();
+        }
+    }
+
+    /**
+     * Remembers the relayed response of the current request, so that {@link StreamingRelayInterceptor}
+     * can release it when the async request ends before the body has been written.
+     */
+    static void track(CompletableFuture<ResponseEntity<StreamingResponseBody>> response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(TRACKED_ATTRIBUTE, response, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static void releaseTracked(WebRequest request) {
+        Object tracked = request.getAttribute(TRACKED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tracked instanceof CompletableFuture<?> response) {
+            ((CompletableFuture<ResponseEntity<StreamingResponseBody>>) response)
+                    .thenAccept(StreamingRelay::release);
+        }
+    }
+}
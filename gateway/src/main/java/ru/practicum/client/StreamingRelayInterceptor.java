@@ -0,0 +1,62 @@
+package ru.practicum.client;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Bounds and cleans up relayed streams. Writing a {@link StreamingResponseBody} is the only callable
+ * processing in the gateway, so that phase gets {@code shareit-server.http.stream-timeout} instead of
+ * {@code spring.mvc.async.request-timeout}. When either async phase times out or fails, and once the
+ * body phase completes, the request's {@link StreamingRelay} is released.
+ */
+public class StreamingRelayInterceptor implements CallableProcessingInterceptor, DeferredResultProcessingInterceptor {
+
+    private final Duration streamTimeout;
+
+    public StreamingRelayInterceptor(Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(streamTimeout.toMillis());
+        }
+    }
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+        StreamingRelay.releaseTracked(request);
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+        StreamingRelay.releaseTracked(request);
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+        StreamingRelay.releaseTracked(request);
+    }
+
+    @Override
+    public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        StreamingRelay.releaseTracked(request);
+        return true;
+    }
+
+    @Override
+    public <T> boolean handleError(NativeWebRequest request, DeferredResult<T> deferredResult, Throwable t) {
+        StreamingRelay.releaseTracked(request);
+        return true;
+    }
+}
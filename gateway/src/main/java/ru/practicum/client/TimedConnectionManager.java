@@ -0,0 +1,154 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Connection manager wrapper that records how long requests wait to lease a pooled connection
+ * ({@code gateway.http.pool.lease}, tagged with the outcome). It also exposes the pool's controls, which
+ * the client builder needs to see to start its idle and expired connection evictor.
+ */
+class TimedConnectionManager implements HttpClientConnectionManager, ConnPoolControl<HttpRoute> {
+
+    static final String LEASE_TIMER = "gateway.http.pool.lease";
+
+    private final PoolingHttpClientConnectionManager delegate;
+    private final Timer acquired;
+    private final Timer timedOut;
+
+    TimedConnectionManager(PoolingHttpClientConnectionManager delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.acquired = leaseTimer(registry, "acquired");
+        this.timedOut = leaseTimer(registry, "timeout");
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest request = delegate.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long started = System.nanoTime();
+                try {
+                    ConnectionEndpoint endpoint = request.get(timeout);
+                    acquired.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    timedOut.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+        delegate.release(endpoint, newState, validDuration);
+    }
+
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context) throws IOException {
+        delegate.connect(endpoint, connectTimeout, context);
+    }
+
+    @Override
+    public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+        delegate.upgrade(endpoint, context);
+    }
+
+    @Override
+    public void close(CloseMode closeMode) {
+        delegate.close(closeMode);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public void setMaxTotal(int max) {
+        delegate.setMaxTotal(max);
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return delegate.getMaxTotal();
+    }
+
+    @Override
+    public void setDefaultMaxPerRoute(int max) {
+        delegate.setDefaultMaxPerRoute(max);
+    }
+
+    @Override
+    public int getDefaultMaxPerRoute() {
+        return delegate.getDefaultMaxPerRoute();
+    }
+
+    @Override
+    public void setMaxPerRoute(HttpRoute route, int max) {
+        delegate.setMaxPerRoute(route, max);
+    }
+
+    @Override
+    public int getMaxPerRoute(HttpRoute route) {
+        return delegate.getMaxPerRoute(route);
+    }
+
+    @Override
+    public void closeIdle(TimeValue idleTime) {
+        delegate.closeIdle(idleTime);
+    }
+
+    @Override
+    public void closeExpired() {
+        delegate.closeExpired();
+    }
+
+    @Override
+    public Set<HttpRoute> getRoutes() {
+        return delegate.getRoutes();
+    }
+
+    @Override
+    public PoolStats getTotalStats() {
+        return delegate.getTotalStats();
+    }
+
+    @Override
+    public PoolStats getStats(HttpRoute route) {
+        return delegate.getStats(route);
+    }
+
+    private static Timer leaseTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder(LEASE_TIMER)
+                .description("Time spent waiting for a pooled connection to the server")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.exception.ServerUnavailableException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking transport on Reactor Netty: requests are written and read on a few event-loop threads,
+ * so the number of in-flight requests is bounded by the connection pool and its pending-acquire queue
+ * rather than by threads. Pool metrics are published under {@code reactor.netty.connection.provider}.
+ */
+@Component("serverHttpTransport")
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "reactive")
+public class WebClientTransport implements ServerTransport {
+
+    private final WebClient webClient;
+
+    public WebClientTransport(WebClient.Builder builder, ConnectionProvider serverConnectionProvider,
+                              HttpTransportProperties properties, @Value("${shareit-server.url}") String serverUrl) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .keepAlive(true);
+        this.webClient = builder
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> withBody = body != null ? request.bodyValue(body) : request;
+        return withBody
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .onErrorMap(WebClientTransport::translate)
+                .toFuture();
+    }
+
+    /**
+     * Error statuses are relayed like any other response. The body is written on the gateway's async
+     * request thread, which blocks until the last buffer has been copied or the relay is released.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                           HttpHeaders headers,
+                                                                           @Nullable Map<String, Object> parameters,
+                                                                           @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> withBody = body != null ? request.bodyValue(body) : request;
+        return withBody
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> {
+                    // released before or while it is written, the body is cancelled, which closes the connection
+                    Sinks.One<Boolean> released = Sinks.one();
+                    Flux<DataBuffer> content = response.getBody().takeUntilOther(released.asMono());
+                    AtomicBoolean subscribed = new AtomicBoolean();
+                    return ResponseEntity.status(response.getStatusCode())
+                            .headers(response.getHeaders())
+                            .<StreamingResponseBody>body(new StreamingRelay(out -> {
+                                subscribed.set(true);
+                                DataBufferUtils.write(content, out)
+                                        .map(DataBufferUtils::release)
+                                        .onErrorMap(WebClientTransport::translate)
+                                        .then()
+                                        .block();
+                            }, () -> {
+                                released.tryEmitValue(Boolean.TRUE);
+                                if (subscribed.compareAndSet(false, true)) {
+                                    content.subscribe(DataBufferUtils::release);
+                                }
+                            }));
+                })
+                .onErrorMap(WebClientTransport::translate)
+                .toFuture();
+    }
+
+    private static Throwable translate(Throwable e) {
+        return e instanceof WebClientRequestException
+                ? new ServerUnavailableException("Сервер не отвечает.")
+                : new RuntimeException("An unexpected error occurred", e);
+    }
+}
+
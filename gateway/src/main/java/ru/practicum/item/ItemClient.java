@@ -5,26 +5,30 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.client.BaseClient;
+import ru.practicum.client.ServerTransport;
 import ru.practicum.item.dto.CommentRequestDto;
 import ru.practicum.item.dto.ItemCreateDto;
 import ru.practicum.item.dto.ItemUpdateDto;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(RestTemplate restTemplate) {
-        super(restTemplate, API_PREFIX);
+    public ItemClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
     @Override
@@ -32,19 +36,24 @@ public class ItemClient extends BaseClient {
         return API_PREFIX;
     }
 
-    public ResponseEntity<Object> addItem(Long ownerId, ItemCreateDto createDto) {
+    public CompletableFuture<ResponseEntity<Object>> addItem(Long ownerId, ItemCreateDto createDto) {
         return post("", ownerId, createDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long ownerId, Long itemId, ItemUpdateDto updateDto) {
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> importItems(Long ownerId,
+                                                                              List<ItemCreateDto> items) {
+        return stream(HttpMethod.POST, "/batch", ownerId, null, items);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> updateItem(Long ownerId, Long itemId, ItemUpdateDto updateDto) {
         return patch("/" + itemId, ownerId, updateDto);
     }
 
-    public ResponseEntity<Object> getItemById(Long userId, Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemById(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItemsByOwner(Long ownerId, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByOwner(Long ownerId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -52,7 +61,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> searchAvailableItems(String text, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> searchAvailableItems(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -61,7 +70,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long authorId, Long itemId, CommentRequestDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(Long authorId, Long itemId, CommentRequestDto commentDto) {
         return post("/" + itemId + "/comment", authorId, commentDto);
     }
 }
\ No newline at end of file
@@ -3,15 +3,20 @@ package ru.practicum.item;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.item.dto.CommentRequestDto;
 import ru.practicum.item.dto.ItemCreateDto;
 import ru.practicum.item.dto.ItemUpdateDto;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -23,26 +28,37 @@ public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader(USER_ID_HEADER) Long ownerId,
+    public CompletableFuture<ResponseEntity<Object>> addItem(@RequestHeader(USER_ID_HEADER) Long ownerId,
                                           @Valid @RequestBody ItemCreateDto createDto) {
         return itemClient.addItem(ownerId, createDto);
     }
 
+    /**
+     * Rows are validated by the server, which reports every invalid row instead of rejecting the import.
+     * The server's NDJSON report is relayed line by line as its chunks commit.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> importItems(
+            @RequestHeader(USER_ID_HEADER) Long ownerId,
+            @Size(max = 10_000) @RequestBody List<ItemCreateDto> items) {
+        return itemClient.importItems(ownerId, items);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(USER_ID_HEADER) Long ownerId,
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestHeader(USER_ID_HEADER) Long ownerId,
                                              @PathVariable Long itemId,
                                              @RequestBody ItemUpdateDto updateDto) {
         return itemClient.updateItem(ownerId, itemId, updateDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@RequestHeader(USER_ID_HEADER) Long userId,
+    public CompletableFuture<ResponseEntity<Object>> getItemById(@RequestHeader(USER_ID_HEADER) Long userId,
                                               @PathVariable Long itemId) {
         return itemClient.getItemById(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByOwner(
+    public CompletableFuture<ResponseEntity<Object>> getItemsByOwner(
             @RequestHeader(USER_ID_HEADER) Long ownerId,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
             @Positive @RequestParam(defaultValue = "10") int size) {
@@ -50,7 +66,7 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchAvailableItems(
+    public CompletableFuture<ResponseEntity<Object>> searchAvailableItems(
             @RequestParam String text,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
             @Positive @RequestParam(defaultValue = "10") int size) {
@@ -58,7 +74,7 @@ public class ItemController {
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public CompletableFuture<ResponseEntity<Object>> addComment(
             @RequestHeader(USER_ID_HEADER) Long authorId,
             @PathVariable Long itemId,
             @Valid @RequestBody CommentRequestDto commentDto) {
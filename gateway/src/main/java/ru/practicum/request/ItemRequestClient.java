@@ -3,19 +3,20 @@ package ru.practicum.request;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import ru.practicum.client.BaseClient;
+import ru.practicum.client.ServerTransport;
 import ru.practicum.request.dto.ItemRequestCreateDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(RestTemplate restTemplate) {
-        super(restTemplate, API_PREFIX);
+    public ItemRequestClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
     @Override
@@ -23,15 +24,15 @@ public class ItemRequestClient extends BaseClient {
         return API_PREFIX;
     }
 
-    public ResponseEntity<Object> create(Long requesterId, ItemRequestCreateDto createDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(Long requesterId, ItemRequestCreateDto createDto) {
         return post("", requesterId, createDto);
     }
 
-    public ResponseEntity<Object> findOwn(Long requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> findOwn(Long requesterId) {
         return get("", requesterId);
     }
 
-    public ResponseEntity<Object> findAll(Long userId, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> findAll(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -39,7 +40,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findById(Long userId, Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> findById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
@@ -10,6 +10,8 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.request.dto.ItemRequestCreateDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/requests")
 @RequiredArgsConstructor
@@ -21,25 +23,25 @@ public class ItemRequestController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(USER_ID_HEADER) Long requesterId,
+    public CompletableFuture<ResponseEntity<Object>> create(@RequestHeader(USER_ID_HEADER) Long requesterId,
                                          @Valid @RequestBody ItemRequestCreateDto createDto) {
         return requestClient.create(requesterId, createDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findOwn(@RequestHeader(USER_ID_HEADER) Long requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> findOwn(@RequestHeader(USER_ID_HEADER) Long requesterId) {
         return requestClient.findOwn(requesterId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAll(@RequestHeader(USER_ID_HEADER) Long userId,
+    public CompletableFuture<ResponseEntity<Object>> findAll(@RequestHeader(USER_ID_HEADER) Long userId,
                                           @PositiveOrZero @RequestParam(defaultValue = "0") int from,
                                           @Positive @RequestParam(defaultValue = "10") int size) {
         return requestClient.findAll(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findById(@RequestHeader(USER_ID_HEADER) Long userId,
+    public CompletableFuture<ResponseEntity<Object>> findById(@RequestHeader(USER_ID_HEADER) Long userId,
                                            @PathVariable Long requestId) {
         return requestClient.findById(userId, requestId);
     }
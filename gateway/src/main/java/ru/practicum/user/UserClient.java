@@ -3,20 +3,23 @@ package ru.practicum.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import ru.practicum.client.BaseClient;
+import ru.practicum.client.ServerTransport;
 import ru.practicum.user.dto.UserCreateDto;
 import ru.practicum.user.dto.UserUpdateDto;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(RestTemplate restTemplate) {
-        super(restTemplate, API_PREFIX);
+    public UserClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
     @Override
@@ -24,7 +27,7 @@ public class UserClient extends BaseClient {
         return API_PREFIX;
     }
 
-    public ResponseEntity<Object> getAllUsers(int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers(int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -32,19 +35,24 @@ public class UserClient extends BaseClient {
         return get("?from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> getUserById(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUsersByIds(List<Long> ids) {
+        String joined = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return get("?ids={ids}", null, Map.of("ids", joined));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getUserById(Long userId) {
         return get("/{userId}", null, Map.of("userId", userId));
     }
 
-    public ResponseEntity<Object> createUser(UserCreateDto createDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(UserCreateDto createDto) {
         return post("", createDto);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserUpdateDto updateDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(Long userId, UserUpdateDto updateDto) {
         return patch("/{userId}", null, Map.of("userId", userId), updateDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(Long userId) {
         return delete("/{userId}", null, Map.of("userId", userId));
     }
 }
\ No newline at end of file
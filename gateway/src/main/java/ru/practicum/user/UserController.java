@@ -3,6 +3,7 @@ package ru.practicum.user;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,9 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.user.dto.UserCreateDto;
 import ru.practicum.user.dto.UserUpdateDto;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -21,30 +25,34 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers(
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers(
+            @Size(max = 100) @RequestParam(required = false) List<@Positive Long> ids,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
             @Positive @RequestParam(defaultValue = "10") int size) {
+        if (ids != null) {
+            return userClient.getUsersByIds(ids);
+        }
         return userClient.getAllUsers(from, size);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUserById(@PathVariable Long userId) {
         return userClient.getUserById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserCreateDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@Valid @RequestBody UserCreateDto userDto) {
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable Long userId,
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable Long userId,
                                              @Valid @RequestBody UserUpdateDto userDto) {
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@PathVariable Long userId) {
         return userClient.deleteUser(userId);
     }
 }
\ No newline at end of file
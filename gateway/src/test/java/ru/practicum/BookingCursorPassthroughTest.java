@@ -0,0 +1,53 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.booking.BookingClient;
+import ru.practicum.booking.BookingController;
+import ru.practicum.client.ServerTransport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookingCursorPassthroughTest {
+
+    @Test
+    void keysetListing_shouldHandServerCursorToClient() throws Exception {
+        AtomicReference<Map<String, Object>> sentParameters = new AtomicReference<>();
+        ServerTransport transport = (method, path, headers, parameters, body) -> {
+            sentParameters.set(parameters);
+            HttpHeaders serverHeaders = new HttpHeaders();
+            serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+            serverHeaders.set("X-Next-Cursor", "2026-01-01T12:00,42");
+            return CompletableFuture.completedFuture(ResponseEntity.ok().headers(serverHeaders)
+                    .body("[]".getBytes(StandardCharsets.UTF_8)));
+        };
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(new BookingClient(transport)))
+                .build();
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("after", "2026-01-02T12:00,43"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2026-01-01T12:00,42"));
+        assertEquals("2026-01-02T12:00,43", sentParameters.get().get("after"));
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.client.CachingServerTransport;
+import ru.practicum.client.ResponseCacheProperties;
+import ru.practicum.client.ServerTransport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingServerTransportTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private final List<Runnable> pending = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpStatus status;
+    private boolean deferResponses;
+    private CachingServerTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        status = HttpStatus.OK;
+        ServerTransport server = (method, path, headers, parameters, body) -> {
+            calls.add(method + " " + path);
+            CompletableFuture<ResponseEntity<byte[]>> response = new CompletableFuture<>();
+            ResponseEntity<byte[]> entity = ResponseEntity.status(status)
+                    .body(("response " + calls.size()).getBytes(StandardCharsets.UTF_8));
+            if (deferResponses) {
+                pending.add(() -> response.complete(entity));
+            } else {
+                response.complete(entity);
+            }
+            return response;
+        };
+        transport = new CachingServerTransport(server, new ResponseCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void get_shouldServeRepeatedRequestFromCachePerUser() {
+        String first = get("/items/1", 1L);
+        assertEquals(first, get("/items/1", 1L));
+        assertNotEquals(first, get("/items/1", 2L));
+
+        assertEquals(2, calls.size());
+        assertEquals(1.0, meterRegistry.counter("gateway.response.cache.requests",
+                "route", "items/{id}", "result", "hit").count());
+        assertEquals(2.0, meterRegistry.counter("gateway.response.cache.requests",
+                "route", "items/{id}", "result", "miss").count());
+    }
+
+    @Test
+    void get_shouldNotCacheErrorsOrUncachedRoutes() {
+        status = HttpStatus.NOT_FOUND;
+        get("/users/99", 1L);
+        get("/users/99", 1L);
+        status = HttpStatus.OK;
+        get("/bookings/1", 1L);
+        get("/bookings/1", 1L);
+
+        assertEquals(4, calls.size());
+    }
+
+    @Test
+    void write_shouldInvalidateOnlyAffectedEntries() {
+        get("/items/1", 1L);
+        get("/items/2", 1L);
+        get("/users/1", 1L);
+        get("/requests/all?from={from}&size={size}", 1L, Map.of("from", 0, "size", 10));
+
+        send(HttpMethod.POST, "/items/1/comment");
+        get("/items/1", 1L);
+        get("/items/2", 1L);
+        get("/users/1", 1L);
+        get("/requests/all?from={from}&size={size}", 1L, Map.of("from", 0, "size", 10));
+        assertEquals(6, calls.size());
+
+        transport.exchange(HttpMethod.PATCH, "/bookings/7?approved={approved}", headers(1L),
+                Map.of("approved", true), null).join();
+        get("/items/2", 1L);
+        get("/users/1", 1L);
+        assertEquals(8, calls.size());
+
+        send(HttpMethod.POST, "/items");
+        get("/requests/all?from={from}&size={size}", 1L, Map.of("from", 0, "size", 10));
+        get("/users/1", 1L);
+        assertEquals(10, calls.size());
+    }
+
+    @Test
+    void write_shouldMatchEntriesByExpandedTemplatePath() {
+        Map<String, Object> user = Map.of("userId", 1);
+        get("/users/{userId}", null, user);
+        get("/users/1", null);
+        assertEquals(1, calls.size());
+
+        transport.exchange(HttpMethod.PATCH, "/users/{userId}", new HttpHeaders(), user, Map.of()).join();
+        get("/users/{userId}", null, user);
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    void get_shouldNotStoreResponseThatRacedWithWrite() {
+        deferResponses = true;
+        CompletableFuture<ResponseEntity<byte[]>> inFlight = transport.exchange(HttpMethod.GET, "/users/1",
+                headers(1L), null, null);
+        deferResponses = false;
+        send(HttpMethod.PATCH, "/users/1");
+        pending.forEach(Runnable::run);
+        inFlight.join();
+
+        get("/users/1", 1L);
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    void get_shouldStoreResponseThatRacedWithUnrelatedWrite() {
+        deferResponses = true;
+        CompletableFuture<ResponseEntity<byte[]>> inFlight = transport.exchange(HttpMethod.GET, "/users/1",
+                headers(1L), null, null);
+        deferResponses = false;
+        send(HttpMethod.POST, "/items/5/comment");
+        pending.forEach(Runnable::run);
+        inFlight.join();
+
+        get("/users/1", 1L);
+        assertEquals(2, calls.size());
+    }
+
+    private String get(String path, Long userId) {
+        return get(path, userId, null);
+    }
+
+    private String get(String path, Long userId, Map<String, Object> parameters) {
+        ResponseEntity<byte[]> response = transport.exchange(HttpMethod.GET, path, headers(userId), parameters, null)
+                .join();
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private void send(HttpMethod method, String path) {
+        transport.exchange(method, path, headers(1L), null, Map.of()).join();
+    }
+
+    private static HttpHeaders headers(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.client.CoalescingServerTransport;
+import ru.practicum.client.ServerTransport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingServerTransportTest {
+
+    private final List<CompletableFuture<ResponseEntity<byte[]>>> upstream = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CoalescingServerTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        ServerTransport server = (method, path, headers, parameters, body) -> {
+            CompletableFuture<ResponseEntity<byte[]>> response = new CompletableFuture<>();
+            synchronized (upstream) {
+                upstream.add(response);
+            }
+            if (method != HttpMethod.GET) {
+                response.complete(ResponseEntity.ok().build());
+            }
+            return response;
+        };
+        transport = new CoalescingServerTransport(server, meterRegistry);
+    }
+
+    @Test
+    void get_shouldShareOneUpstreamCallBetweenIdenticalConcurrentRequests() {
+        CompletableFuture<ResponseEntity<byte[]>> first = get("/items/{id}", Map.of("id", 1), 2L);
+        CompletableFuture<ResponseEntity<byte[]>> second = get("/items/1", null, 2L);
+        CompletableFuture<ResponseEntity<byte[]>> otherUser = get("/items/1", null, 3L);
+        assertEquals(2, upstream.size());
+
+        upstream.get(0).complete(ResponseEntity.ok("item".getBytes(StandardCharsets.UTF_8)));
+        assertSame(first.join().getBody(), second.join().getBody());
+        assertFalse(otherUser.isDone());
+
+        get("/items/1", null, 2L);
+        assertEquals(3, upstream.size());
+        assertEquals(1.0, meterRegistry.counter("gateway.coalescing.requests", "result", "joined").count());
+    }
+
+    @Test
+    void get_shouldPropagateFailureToEveryWaiterAndIsolateCancellation() {
+        CompletableFuture<ResponseEntity<byte[]>> first = get("/users/1", null, null);
+        CompletableFuture<ResponseEntity<byte[]>> second = get("/users/1", null, null);
+        CompletableFuture<ResponseEntity<byte[]>> third = get("/users/1", null, null);
+
+        first.cancel(true);
+        upstream.get(0).completeExceptionally(new RuntimeException("An unexpected error occurred"));
+
+        assertThrows(CompletionException.class, second::join);
+        assertThrows(CompletionException.class, third::join);
+        assertEquals(1, upstream.size());
+    }
+
+    @Test
+    void write_shouldDetachReadsInFlight() {
+        CompletableFuture<ResponseEntity<byte[]>> beforeWrite = get("/users/1", null, null);
+        transport.exchange(HttpMethod.PATCH, "/users/1", new HttpHeaders(), null, Map.of()).join();
+        CompletableFuture<ResponseEntity<byte[]>> afterWrite = get("/users/1", null, null);
+
+        assertEquals(3, upstream.size());
+        assertNotSame(upstream.get(0), upstream.get(2));
+        upstream.get(0).complete(ResponseEntity.ok().build());
+        assertTrue(beforeWrite.isDone());
+        assertFalse(afterWrite.isDone());
+    }
+
+    @Test
+    void get_shouldCollapseThunderingHerdIntoOneUpstreamCall() throws Exception {
+        int callers = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger answered = new AtomicInteger();
+        try {
+            List<CompletableFuture<Void>> submitted = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                submitted.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    get("/items/1", null, 2L).thenRun(answered::incrementAndGet);
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(submitted.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            assertEquals(1, upstream.size());
+            upstream.get(0).complete(ResponseEntity.ok("item".getBytes(StandardCharsets.UTF_8)));
+            assertEquals(callers, answered.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<byte[]>> get(String path, Map<String, Object> parameters, Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return transport.exchange(HttpMethod.GET, path, headers, parameters, null);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.client.AppConfig;
+import ru.practicum.client.HttpTransportProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleConnectionEvictionTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void serverHttpClient_shouldCloseConnectionsIdleLongerThanIdleEviction() throws Exception {
+        HttpTransportProperties properties = new HttpTransportProperties();
+        properties.setIdleEviction(Duration.ofMillis(200));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AppConfig config = new AppConfig();
+
+        try (PoolingHttpClientConnectionManager pool = config.serverConnectionManager(properties, meterRegistry);
+             CloseableHttpClient client = config.serverHttpClient(pool, properties, meterRegistry)) {
+            String uri = "http://localhost:" + server.getAddress().getPort() + "/items";
+            client.execute(new HttpGet(uri), response -> EntityUtils.toString(response.getEntity()));
+            assertEquals(1, pool.getTotalStats().getAvailable());
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (pool.getTotalStats().getAvailable() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(0, pool.getTotalStats().getAvailable());
+            assertEquals(0, pool.getTotalStats().getLeased());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.client.RestTemplateTransport;
+import ru.practicum.item.ItemClient;
+import ru.practicum.item.dto.ItemCreateDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemImportRelayTest {
+
+    private final CountDownLatch firstLineRelayed = new CountDownLatch(1);
+    private HttpServer server;
+    private volatile String requestBody;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items/batch", exchange -> {
+            requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("{\"row\":0,\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                // the next chunk is only produced once the gateway has relayed the first one
+                firstLineRelayed.await(5, TimeUnit.SECONDS);
+                out.write("{\"created\":1,\"failed\":0}\n".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void importItems_shouldRelayServerReportLineByLine() throws Exception {
+        String serverUrl = "http://localhost:" + server.getAddress().getPort();
+        ItemClient client = new ItemClient(new RestTemplateTransport(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                .build()));
+        ItemCreateDto item = new ItemCreateDto();
+        item.setName("Дрель");
+        item.setDescription("Ударная");
+        item.setAvailable(true);
+
+        ResponseEntity<StreamingResponseBody> report = client.importItems(1L, List.of(item)).join();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                super.write(b, off, len);
+                if (toString(StandardCharsets.UTF_8).endsWith("\n")) {
+                    firstLineRelayed.countDown();
+                }
+            }
+        };
+        report.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, report.getStatusCode());
+        assertEquals("{\"row\":0,\"id\":1}\n{\"created\":1,\"failed\":0}\n", out.toString(StandardCharsets.UTF_8));
+        assertTrue(requestBody.contains("\"name\":\"Дрель\""));
+    }
+}
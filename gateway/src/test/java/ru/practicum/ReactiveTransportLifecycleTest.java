@@ -0,0 +1,70 @@
+package ru.practicum;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.client.AppConfig;
+import ru.practicum.client.ServerTransport;
+import ru.practicum.client.WebClientTransport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveTransportLifecycleTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void closingContext_shouldDisposeReactiveConnectionPool() {
+        AtomicReference<ConnectionProvider> pool = new AtomicReference<>();
+        new ApplicationContextRunner()
+                .withPropertyValues("shareit-server.client=reactive",
+                        "shareit-server.url=http://localhost:" + server.getAddress().getPort())
+                .withBean(SimpleMeterRegistry.class)
+                .withBean(RestTemplateBuilder.class, RestTemplateBuilder::new)
+                .withBean(WebClient.Builder.class, WebClient::builder)
+                .withUserConfiguration(AppConfig.class, WebClientTransport.class)
+                .run(context -> {
+                    ServerTransport transport = context.getBean("serverHttpTransport", ServerTransport.class);
+                    pool.set(context.getBean(ConnectionProvider.class));
+
+                    assertEquals(HttpStatus.OK, transport.exchange(HttpMethod.GET, "/items/1", new HttpHeaders(),
+                            null, null).join().getStatusCode());
+                    assertFalse(pool.get().isDisposed());
+                });
+
+        assertTrue(pool.get().isDisposed());
+    }
+}
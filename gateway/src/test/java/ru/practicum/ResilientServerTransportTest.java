@@ -0,0 +1,257 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.client.AimdConcurrencyLimiter;
+import ru.practicum.client.ResilienceProperties;
+import ru.practicum.client.ResilientServerTransport;
+import ru.practicum.client.ServerTransport;
+import ru.practicum.exception.ServerUnavailableException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientServerTransportTest {
+
+    private final List<CompletableFuture<ResponseEntity<byte[]>>> upstream = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newScheduledThreadPool(2);
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void limiter_shouldStartAtMaxBackOffOncePerSlowWindowAndGrowWhileFastAndBusy() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(2, 10, Duration.ofMillis(100).toNanos(), 0.5);
+        assertEquals(10, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        limiter.release(Duration.ofMillis(300).toNanos(), false);
+        assertEquals(5, limiter.getLimit());
+        limiter.release(Duration.ofMillis(300).toNanos(), false);
+        assertEquals(5, limiter.getLimit(), "Вызов, начатый до снижения лимита, не снижает его повторно");
+        limiter.tryAcquire();
+        limiter.release(0, true);
+        assertEquals(2, limiter.getLimit());
+
+        for (int round = 0; round < 40; round++) {
+            for (int i = 0; i < limiter.getLimit(); i++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            assertFalse(limiter.tryAcquire());
+            for (int i = limiter.getInFlight(); i > 0; i--) {
+                limiter.release(Duration.ofMillis(10).toNanos(), false);
+            }
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void exchange_shouldRejectCallsOverClientBulkheadWithoutStarvingOtherClients() {
+        properties.getBulkheads().put("items", 2);
+        ResilientServerTransport transport = new ResilientServerTransport(pendingServer(), properties, meterRegistry);
+
+        get(transport, "/items/1");
+        get(transport, "/items/2");
+        CompletableFuture<ResponseEntity<byte[]>> rejected = get(transport, "/items/3");
+        CompletableFuture<ResponseEntity<byte[]>> otherClient = get(transport, "/users/1");
+
+        assertUnavailable(rejected);
+        assertFalse(otherClient.isDone());
+        assertEquals(3, upstream.size());
+
+        upstream.get(0).complete(ResponseEntity.ok().build());
+        get(transport, "/items/3");
+        assertEquals(4, upstream.size());
+        assertEquals(1.0, meterRegistry.counter("gateway.requests.rejected",
+                "client", "items", "reason", "bulkhead").count());
+    }
+
+    @Test
+    void exchange_shouldOpenCircuitAfterServerErrorsAndFailFast() {
+        ResilientServerTransport transport = new ResilientServerTransport(pendingServer(), properties, meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<ResponseEntity<byte[]>> response = get(transport, "/bookings/" + i);
+            upstream.get(i).complete(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.join().getStatusCode());
+        }
+
+        assertUnavailable(get(transport, "/items/1"));
+        assertEquals(4, upstream.size());
+        assertEquals(1.0, meterRegistry.counter("gateway.requests.rejected",
+                "client", "items", "reason", "circuit-open").count());
+    }
+
+    @Test
+    void exchange_shouldShedLoadFromSlowServerInsteadOfQueueing() throws Exception {
+        properties.getLimiter().setMaxLimit(10);
+        properties.getLimiter().setLatencyThreshold(Duration.ofMillis(50));
+        properties.getLimiter().setBackoffRatio(0.5);
+        properties.getCircuitBreaker().setSlidingWindowSize(1000);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(1000);
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        List<CompletableFuture<ResponseEntity<byte[]>>> pending = new ArrayList<>();
+        ServerTransport slowServer = (method, path, headers, parameters, body) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<ResponseEntity<byte[]>> response = new CompletableFuture<>();
+            pending.add(response);
+            return response;
+        };
+        ResilientServerTransport transport = new ResilientServerTransport(slowServer, properties, meterRegistry);
+
+        assertEquals(490, sendAndCountRejected(transport, 500));
+        assertEquals(10, maxInFlight.get());
+        completeSlowly(pending, inFlight);
+        assertEquals(5.0, meterRegistry.get("gateway.concurrency.limit").gauge().value());
+
+        assertEquals(495, sendAndCountRejected(transport, 500));
+        completeSlowly(pending, inFlight);
+        assertEquals(10, maxInFlight.get());
+        assertEquals(4.0, meterRegistry.get("gateway.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void stream_shouldHoldBulkheadUntilBodyIsWrittenAndBypassLimiter() throws Exception {
+        properties.getBulkheads().put("bookings", 1);
+        properties.getLimiter().setMinLimit(1);
+        properties.getLimiter().setMaxLimit(1);
+        ServerTransport server = new ServerTransport() {
+            @Override
+            public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String path,
+                                                                      HttpHeaders headers,
+                                                                      Map<String, Object> parameters, Object body) {
+                return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+            }
+
+            @Override
+            public CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                                   HttpHeaders headers,
+                                                                                   Map<String, Object> parameters,
+                                                                                   Object body) {
+                return CompletableFuture.completedFuture(ResponseEntity.ok()
+                        .body(out -> out.write("{}\n".getBytes(StandardCharsets.UTF_8))));
+            }
+        };
+        ResilientServerTransport transport = new ResilientServerTransport(server, properties, meterRegistry);
+
+        ResponseEntity<StreamingResponseBody> export = transport.stream(HttpMethod.GET, "/bookings/owner/export",
+                new HttpHeaders(), null, null).join();
+        assertUnavailable(transport.stream(HttpMethod.GET, "/bookings/owner/export", new HttpHeaders(), null,
+                null));
+        assertEquals(HttpStatus.OK, get(transport, "/items/1").join().getStatusCode());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.getBody().writeTo(out);
+        assertEquals("{}\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.OK, transport.stream(HttpMethod.GET, "/bookings/owner/export", new HttpHeaders(),
+                null, null).join().getStatusCode());
+    }
+
+    @Test
+    void stream_whenImporting_shouldUseOwnBulkheadAndNeverCountAsSlowCall() throws Exception {
+        properties.getBulkheads().put("items", 1);
+        properties.getBulkheads().put("items-import", 1);
+        properties.getLimiter().setMinLimit(1);
+        properties.getLimiter().setMaxLimit(1);
+        properties.getCircuitBreaker().setSlowCallThreshold(Duration.ofMillis(1));
+        properties.getCircuitBreaker().setSlowCallRateThreshold(50);
+        ServerTransport server = new ServerTransport() {
+            @Override
+            public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String path,
+                                                                      HttpHeaders headers,
+                                                                      Map<String, Object> parameters, Object body) {
+                return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+            }
+
+            @Override
+            public CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                                   HttpHeaders headers,
+                                                                                   Map<String, Object> parameters,
+                                                                                   Object body) {
+                return CompletableFuture.supplyAsync(() -> ResponseEntity.ok()
+                        .body(out -> out.write("{\"created\":1}\n".getBytes(StandardCharsets.UTF_8))),
+                        CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+            }
+        };
+        ResilientServerTransport transport = new ResilientServerTransport(server, properties, meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            ResponseEntity<StreamingResponseBody> report = transport.stream(HttpMethod.POST, "/items/batch",
+                    new HttpHeaders(), null, List.of()).join();
+            assertEquals(HttpStatus.OK, get(transport, "/items/1").join().getStatusCode());
+            assertUnavailable(transport.stream(HttpMethod.POST, "/items/batch", new HttpHeaders(), null,
+                    List.of()));
+            report.getBody().writeTo(new ByteArrayOutputStream());
+        }
+
+        assertEquals(HttpStatus.OK, get(transport, "/items/1").join().getStatusCode());
+    }
+
+    private static long sendAndCountRejected(ServerTransport transport, int calls) {
+        long rejected = 0;
+        for (int i = 0; i < calls; i++) {
+            if (get(transport, "/items/" + i).isCompletedExceptionally()) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private static void completeSlowly(List<CompletableFuture<ResponseEntity<byte[]>>> pending,
+                                       AtomicInteger inFlight) throws InterruptedException {
+        Thread.sleep(60);
+        for (CompletableFuture<ResponseEntity<byte[]>> response : pending) {
+            inFlight.decrementAndGet();
+            response.complete(ResponseEntity.ok().build());
+        }
+        pending.clear();
+    }
+
+    private ServerTransport pendingServer() {
+        return (method, path, headers, parameters, body) -> {
+            CompletableFuture<ResponseEntity<byte[]>> response = new CompletableFuture<>();
+            upstream.add(response);
+            return response;
+        };
+    }
+
+    private static CompletableFuture<ResponseEntity<byte[]>> get(ServerTransport transport, String path) {
+        return transport.exchange(HttpMethod.GET, path, new HttpHeaders(), null, null);
+    }
+
+    private static void assertUnavailable(CompletableFuture<?> response) {
+        CompletionException e = assertThrows(CompletionException.class, response::join);
+        assertInstanceOf(ServerUnavailableException.class, e.getCause());
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.client.BaseClient;
+import ru.practicum.client.RestTemplateTransport;
+import ru.practicum.client.ServerTransport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the gateway relays the server's response bytes untouched, and measures what that saves
+ * against the former path, where the body was parsed into an {@code Object} tree and serialized again
+ * for the client. The benchmark runs with {@code -Dbenchmarks=true} and reports gateway-side CPU time
+ * and allocated bytes per request for large booking and search pages.
+ */
+class ResponsePassthroughBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponsePassthroughBenchmarkTest.class);
+    private static final int PAGE_SIZE = 1000;
+    private static final int WARMUP_REQUESTS = 300;
+    private static final int MEASURED_REQUESTS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void response_shouldRelayServerBytesStatusAndContentHeaders() {
+        byte[] json = "{\"errorMessage\":\"Пользователь с ID 99 не найден.\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+        serverHeaders.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        ServerTransport transport = (method, path, headers, parameters, body) -> CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.NOT_FOUND).headers(serverHeaders).body(json));
+
+        ResponseEntity<Object> response = new PageClient(transport).page("/users/99").join();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertSame(json, response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void comparePassthroughWithParseAndReserialize() throws Exception {
+        Map<String, byte[]> pages = Map.of(
+                "/bookings", objectMapper.writeValueAsBytes(bookingsPage()),
+                "/items/search", objectMapper.writeValueAsBytes(searchPage()));
+
+        HttpServer stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 100);
+        stubServer.setExecutor(Executors.newFixedThreadPool(4));
+        pages.forEach((path, json) -> stubServer.createContext(path, exchange -> {
+            try (OutputStream body = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, json.length);
+                body.write(json);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }));
+        stubServer.start();
+        try {
+            RestTemplate rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory(HttpClients.createDefault()));
+            rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + stubServer.getAddress().getPort()));
+            PageClient passthrough = new PageClient(new RestTemplateTransport(rest));
+            HttpHeaders requestHeaders = new HttpHeaders();
+            requestHeaders.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+            for (String path : List.of("/bookings", "/items/search")) {
+                Measurement parsed = measure(() -> {
+                    Object body = rest.exchange(path, HttpMethod.GET, new HttpEntity<>(requestHeaders), Object.class)
+                            .getBody();
+                    return writeToClient(() -> objectMapper.writeValueAsBytes(body));
+                });
+                Measurement relayed = measure(() -> {
+                    Object body = passthrough.page(path).join().getBody();
+                    return writeToClient(() -> (byte[]) body);
+                });
+
+                log.info("{} ({} KB, {} rows): parse+serialize {} us CPU, {} KB allocated; passthrough {} us CPU, {} KB allocated",
+                        path, pages.get(path).length / 1024, PAGE_SIZE,
+                        parsed.cpuMicros(), parsed.allocatedKb(), relayed.cpuMicros(), relayed.allocatedKb());
+                assertTrue(relayed.allocatedKb() < parsed.allocatedKb());
+            }
+        } finally {
+            stubServer.stop(0);
+        }
+    }
+
+    private static int writeToClient(ThrowingSupplier<byte[]> body) {
+        try {
+            return body.get().length;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Measurement measure(Supplier<Integer> request) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            sink += request.get();
+        }
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            sink += request.get();
+        }
+        long cpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        assertTrue(sink > 0);
+        return new Measurement(cpu / 1000 / MEASURED_REQUESTS, allocated / 1024 / MEASURED_REQUESTS);
+    }
+
+    private static List<Map<String, Object>> bookingsPage() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<Map<String, Object>> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", i);
+            booking.put("start", start.plusDays(i));
+            booking.put("end", start.plusDays(i).plusHours(2));
+            booking.put("status", "APPROVED");
+            booking.put("booker", Map.of("id", i + 1, "name", "Booker " + i, "email", "booker" + i + "@mail.com"));
+            booking.put("item", Map.of("id", i, "name", "Дрель " + i, "description", "Ударная дрель, 800 Вт",
+                    "available", true));
+            page.add(booking);
+        }
+        return page;
+    }
+
+    private static List<Map<String, Object>> searchPage() {
+        List<Map<String, Object>> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "Дрель " + i);
+            item.put("description", "Аккумуляторная дрель-шуруповёрт с двумя батареями и кейсом, " + i);
+            item.put("available", true);
+            item.put("requestId", null);
+            item.put("lastBooking", null);
+            item.put("nextBooking", null);
+            item.put("comments", List.of(Map.of("id", i, "text", "Отличная дрель", "authorName", "User " + i,
+                    "created", "2026-01-01T12:00:00")));
+            page.add(item);
+        }
+        return page;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+
+    private record Measurement(long cpuMicros, long allocatedKb) {
+    }
+
+    private static class PageClient extends BaseClient {
+
+        PageClient(ServerTransport transport) {
+            super(transport, "");
+        }
+
+        @Override
+        protected String getApiPath() {
+            return "";
+        }
+
+        CompletableFuture<ResponseEntity<Object>> page(String path) {
+            return get(path);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.client.RestTemplateTransport;
+import ru.practicum.exception.ServerUnavailableException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestTemplateTransportTest {
+
+    @Test
+    void stream_whenStatusCannotBeRead_shouldCloseResponse() throws IOException {
+        ClientHttpResponse response = Mockito.mock(ClientHttpResponse.class);
+        Mockito.when(response.getStatusCode()).thenThrow(new IOException("connection reset"));
+        ClientHttpRequest request = Mockito.mock(ClientHttpRequest.class);
+        Mockito.when(request.getHeaders()).thenReturn(new HttpHeaders());
+        Mockito.when(request.execute()).thenReturn(response);
+        ClientHttpRequestFactory requestFactory = Mockito.mock(ClientHttpRequestFactory.class);
+        Mockito.when(requestFactory.createRequest(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(request);
+        RestTemplateTransport transport = new RestTemplateTransport(new RestTemplate(requestFactory));
+
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> transport.stream(HttpMethod.POST, "http://localhost/items/import", new HttpHeaders(), null, null)
+                        .join());
+
+        assertInstanceOf(ServerUnavailableException.class, failure.getCause());
+        Mockito.verify(response).close();
+    }
+}
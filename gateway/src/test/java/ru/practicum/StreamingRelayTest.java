@@ -0,0 +1,103 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.booking.BookingClient;
+import ru.practicum.booking.dto.BookingState;
+import ru.practicum.client.ResilienceProperties;
+import ru.practicum.client.ResilientServerTransport;
+import ru.practicum.client.ServerTransport;
+import ru.practicum.client.StreamingRelay;
+import ru.practicum.client.StreamingRelayInterceptor;
+import ru.practicum.exception.ServerUnavailableException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingRelayTest {
+
+    private final AtomicInteger upstreamClosed = new AtomicInteger();
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final ServerTransport server = new ServerTransport() {
+        @Override
+        public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method,
+                                                                  String path, HttpHeaders headers,
+                                                                  Map<String, Object> parameters, Object body) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<StreamingResponseBody>> stream(HttpMethod method, String path,
+                                                                               HttpHeaders headers,
+                                                                               Map<String, Object> parameters,
+                                                                               Object body) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok().body(new StreamingRelay(
+                    out -> out.write("{}\n".getBytes(StandardCharsets.UTF_8)), upstreamClosed::incrementAndGet)));
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void writeTo_shouldReleaseUpstreamOnceAndRefuseToWriteAgain() throws Exception {
+        ResponseEntity<StreamingResponseBody> export = server.stream(HttpMethod.GET, "/bookings/owner/export",
+                new HttpHeaders(), null, null).join();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        export.getBody().writeTo(out);
+        StreamingRelay.release(export);
+
+        assertEquals("{}\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(1, upstreamClosed.get());
+        assertThrows(IOException.class, () -> export.getBody().writeTo(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void asyncTimeout_beforeBodyIsWritten_shouldReleaseBulkheadAndUpstream() {
+        properties.getBulkheads().put("bookings", 1);
+        ResilientServerTransport transport = new ResilientServerTransport(server, properties,
+                new SimpleMeterRegistry());
+        BookingClient client = new BookingClient(transport);
+        StreamingRelayInterceptor interceptor = new StreamingRelayInterceptor(Duration.ofMinutes(10));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        ResponseEntity<StreamingResponseBody> export = client.exportBookingsForOwner(1L, BookingState.ALL).join();
+        assertEquals(HttpStatus.OK, export.getStatusCode());
+        CompletionException rejected = assertThrows(CompletionException.class,
+                () -> transport.stream(HttpMethod.GET, "/bookings/owner/export", new HttpHeaders(), null, null)
+                        .join());
+        assertInstanceOf(ServerUnavailableException.class, rejected.getCause());
+
+        StandardServletAsyncWebRequest asyncRequest =
+                new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        interceptor.beforeConcurrentHandling(asyncRequest, () -> null);
+        interceptor.handleTimeout(asyncRequest, () -> null);
+
+        assertEquals(1, upstreamClosed.get());
+        assertEquals(HttpStatus.OK, client.exportBookingsForOwner(1L, BookingState.ALL).join().getStatusCode());
+    }
+}
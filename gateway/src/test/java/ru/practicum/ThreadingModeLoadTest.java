@@ -0,0 +1,139 @@
+package ru.practicum;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load harness comparing the gateway on Tomcat platform threads and on virtual threads. The server is
+ * replaced by a stub that answers after a fixed delay without holding a thread, so the gateway's own
+ * request handling is what limits concurrency. Run with
+ * {@code mvn test -Dtest=ThreadingModeLoadTest -Dbenchmarks=true [-Dload.concurrency=1000,10000]
+ * [-Dload.server-delay-ms=50]}. Virtual threads need a Java 21+ runtime, and every request holds three
+ * sockets (client, gateway, stub), so 10k concurrent requests need {@code ulimit -n} above 30000.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ThreadingModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeLoadTest.class);
+    private static final int WARMUP_REQUESTS = 500;
+    private static final byte[] USER_JSON = "{\"id\":1,\"name\":\"User\",\"email\":\"user@mail.com\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static HttpServer stubServer;
+    private static ScheduledExecutorService responder;
+
+    @BeforeAll
+    static void startStubServer() throws IOException {
+        long delayMs = Long.getLong("load.server-delay-ms", 50);
+        responder = Executors.newScheduledThreadPool(4);
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 20_000);
+        stubServer.setExecutor(Executors.newFixedThreadPool(8));
+        stubServer.createContext("/users", exchange -> responder.schedule(() -> {
+            try (OutputStream body = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, USER_JSON.length);
+                body.write(USER_JSON);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }, delayMs, TimeUnit.MILLISECONDS));
+        stubServer.start();
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.stop(0);
+        responder.shutdownNow();
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("load.concurrency", "1000,10000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext gateway = startGateway(virtual)) {
+                String mode = Threading.VIRTUAL.isActive(gateway.getEnvironment()) ? "virtual" : "platform";
+                int port = gateway.getEnvironment().getProperty("local.server.port", Integer.class);
+                run(mode + " warm-up", port, WARMUP_REQUESTS);
+                for (int concurrency : levels) {
+                    run(mode + (virtual && mode.equals("platform") ? " (virtual requested)" : ""), port, concurrency);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startGateway(boolean virtual) {
+        return new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + stubServer.getAddress().getPort(),
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--shareit-server.http.max-connections=20000",
+                "--shareit-server.http.max-connections-per-route=20000",
+                "--shareit-server.http.pool-acquire-timeout=60s",
+                "--shareit-server.http.read-timeout=60s");
+    }
+
+    private static void run(String mode, int port, int concurrency) {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newFixedThreadPool(16))
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/users/1");
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[concurrency];
+        List<CompletableFuture<Void>> requests = new ArrayList<>(concurrency);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            int index = i;
+            long sentAt = System.nanoTime();
+            requests.add(client.sendAsync(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build(),
+                            HttpResponse.BodyHandlers.ofString())
+                    .handle((response, error) -> {
+                        latencies[index] = (System.nanoTime() - sentAt) / 1_000_000;
+                        if (error != null || response.statusCode() != 200) {
+                            if (errors.incrementAndGet() == 1) {
+                                log.warn("First failed request: {}", error != null ? error.toString() : response.statusCode() + " " + response.body());
+                            }
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        log.info("Gateway [{}] {} concurrent requests: {} s, {} req/s, p50={} ms, p99={} ms, errors={}",
+                mode, concurrency, String.format("%.2f", seconds), String.format("%.0f", concurrency / seconds),
+                latencies[concurrency / 2], latencies[concurrency * 99 / 100], errors.get());
+    }
+}
@@ -1,14 +1,24 @@
 package ru.practicum.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingRequestDto;
 import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.BookingSlice;
 import ru.practicum.booking.dto.BookingState;
+import ru.practicum.booking.service.BookingExport;
 import ru.practicum.booking.service.BookingService;
+import ru.practicum.config.querycount.QueryBudget;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -17,7 +27,9 @@ import java.util.List;
 @Slf4j
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -40,20 +52,64 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getBookingsForUser(
+    @QueryBudget(2)
+    public ResponseEntity<List<BookingResponseDto>> getBookingsForUser(
             @RequestHeader(USER_ID_HEADER) Long userId,
             @RequestParam(defaultValue = "ALL") BookingState state,
-            @RequestParam int from,
-            @RequestParam int size) {
-        return bookingService.getBookingsForUser(userId, state, from, size);
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam int size,
+            @RequestParam(required = false) String after) {
+        if (after == null) {
+            return ResponseEntity.ok(bookingService.getBookingsForUser(userId, state, from, size));
+        }
+        return toResponse(bookingService.getBookingsForUser(userId, state, parseCursor(after), size));
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getBookingsForOwner(
+    @QueryBudget(2)
+    public ResponseEntity<List<BookingResponseDto>> getBookingsForOwner(
             @RequestHeader(USER_ID_HEADER) Long ownerId,
             @RequestParam(defaultValue = "ALL") BookingState state,
-            @RequestParam int from,
-            @RequestParam int size) {
-        return bookingService.getBookingsForOwner(ownerId, state, from, size);
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam int size,
+            @RequestParam(required = false) String after) {
+        if (after == null) {
+            return ResponseEntity.ok(bookingService.getBookingsForOwner(ownerId, state, from, size));
+        }
+        return toResponse(bookingService.getBookingsForOwner(ownerId, state, parseCursor(after), size));
+    }
+
+    /**
+     * Streams the owner's whole booking history as NDJSON, one booking per line, newest first.
+     */
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsForOwner(
+            @RequestHeader(USER_ID_HEADER) Long ownerId,
+            @RequestParam(defaultValue = "ALL") BookingState state) {
+        BookingExport export = bookingService.exportBookingsForOwner(ownerId, state);
+        StreamingResponseBody body = out -> {
+            long exported = export.writeTo(booking -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(booking));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Выгружено {} бронирований владельца {}", exported, ownerId);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static BookingCursor parseCursor(String after) {
+        return after.isBlank() ? null : BookingCursor.parse(after);
+    }
+
+    private static ResponseEntity<List<BookingResponseDto>> toResponse(BookingSlice slice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, slice.getNextCursor().toString());
+        }
+        return response.body(slice.getBookings());
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package ru.practicum.booking;
+
+import lombok.Builder;
+import lombok.Getter;
+import ru.practicum.booking.dto.BookingCursor;
+import ru.practicum.booking.dto.BookingState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parameters of a booking listing. Offset paging uses {@code offset}; keyset paging leaves the offset
+ * at zero and passes the cursor of the last row already seen in {@code after} (null on the first page).
+ */
+@Getter
+@Builder
+public class BookingQuery {
+    private final BookingRole role;
+    private final Long userId;
+    @Builder.Default
+    private final BookingState state = BookingState.ALL;
+    private final LocalDateTime now;
+    private final int offset;
+    private final BookingCursor after;
+    private final int size;
+}
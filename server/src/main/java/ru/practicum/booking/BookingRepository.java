@@ -1,16 +1,15 @@
 package ru.practicum.booking;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.booking.availability.BookedInterval;
 import ru.practicum.item.Item;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
     List<Booking> findAllByItemOwnerId(Long ownerId);
 
@@ -23,29 +22,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "AND b.start < :end")
     List<Booking> findConflictingBookings(Long itemId, List<BookingStatus> statuses, LocalDateTime start, LocalDateTime end);
 
-    List<Booking> findByBookerIdAndItemIdAndStatusAndEndIsBefore(
-            Long bookerId, Long itemId, BookingStatus status, LocalDateTime time
-    );
-
-    Page<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status NOT IN :statuses " +
+            "AND b.end > :start " +
+            "AND b.start < :end")
+    boolean existsConflictingBooking(Long itemId, List<BookingStatus> statuses, LocalDateTime start, LocalDateTime end);
 
-    Page<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime end, Pageable pageable);
+    @Query("SELECT new ru.practicum.booking.availability.BookedInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b " +
+            "WHERE b.status NOT IN :statuses " +
+            "AND b.end > :now")
+    List<BookedInterval> findBookedIntervals(List<BookingStatus> statuses, LocalDateTime now);
 
-    Page<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime start, Pageable pageable);
+    @Query("SELECT new ru.practicum.booking.availability.BookedInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b " +
+            "WHERE (b.booker.id = :userId OR b.item.owner.id = :userId) " +
+            "AND b.status NOT IN :statuses " +
+            "AND b.end > :now")
+    List<BookedInterval> findBookedIntervalsOfUser(Long userId, List<BookingStatus> statuses, LocalDateTime now);
 
-    Page<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status, Pageable pageable);
+    List<Booking> findByBookerIdAndItemIdAndStatusAndEndIsBefore(
+            Long bookerId, Long itemId, BookingStatus status, LocalDateTime time
+    );
 
     Optional<Booking> findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(Long itemId, LocalDateTime now, BookingStatus status);
 
@@ -55,21 +54,5 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long authorId, Long itemId, BookingStatus bookingStatus, LocalDateTime now);
 
-    Optional<Booking> findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(
-            Long itemId,
-            LocalDateTime now,
-            BookingStatus status
-    );
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN :itemIds AND b.start < :now AND b.status = 'APPROVED' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findLastBookingsForItems(List<Long> itemIds, LocalDateTime now);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN :itemIds AND b.start >= :now AND b.status = 'APPROVED' " +
-            "ORDER BY b.start ASC")
-    List<Booking> findNextBookingsForItems(List<Long> itemIds, LocalDateTime now);
-
     List<Booking> findAllByItemInAndStatus(List<Item> ownerItems, BookingStatus bookingStatus);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package ru.practicum.booking;
+
+import org.springframework.data.domain.Slice;
+import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.nearest.BookingMoment;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+
+    Slice<BookingResponseDto> findBookings(BookingQuery query);
+
+    Stream<BookingResponseDto> streamBookings(BookingQuery query);
+
+    List<BookingMoment> findNearestBookingMoments(Collection<Long> itemIds, LocalDateTime now, int upcomingLimit);
+}
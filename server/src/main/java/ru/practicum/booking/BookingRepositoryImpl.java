@@ -0,0 +1,161 @@
+package ru.practicum.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.booking.dto.BookingCursor;
+import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.BookingState;
+import ru.practicum.booking.nearest.BookingMoment;
+import ru.practicum.item.Item;
+import ru.practicum.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final String NEAREST_BOOKINGS_SQL =
+            "SELECT item_id, id, booker_id, start_date FROM (" +
+            "  SELECT b.item_id, b.id, b.booker_id, b.start_date, " +
+            "         ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS rn " +
+            "  FROM bookings b " +
+            "  WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date < :now" +
+            ") past WHERE rn = 1 " +
+            "UNION ALL " +
+            "SELECT item_id, id, booker_id, start_date FROM (" +
+            "  SELECT b.item_id, b.id, b.booker_id, b.start_date, " +
+            "         ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn " +
+            "  FROM bookings b " +
+            "  WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date >= :now" +
+            ") upcoming WHERE rn <= :upcomingLimit";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${shareit.bookings.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    /**
+     * Single-statement listing projected straight into {@link BookingResponseDto} from
+     * {@code bookings JOIN items JOIN users}; no entities are loaded. Rows are ordered by
+     * {@code start DESC, id DESC}, and one extra row is read instead of running a COUNT to tell
+     * whether another page exists.
+     */
+    @Override
+    public Slice<BookingResponseDto> findBookings(BookingQuery query) {
+        int size = query.getSize();
+        List<BookingResponseDto> rows = entityManager.createQuery(listing(query))
+                .setFirstResult(query.getOffset())
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        List<BookingResponseDto> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(query.getOffset() / size, size), hasNext);
+    }
+
+    /**
+     * The same listing without paging, read through a forward-only cursor {@code exportFetchSize} rows
+     * at a time. Only DTOs are produced, so nothing accumulates in the persistence context and memory
+     * does not grow with the history. The stream must be consumed inside a transaction and closed.
+     */
+    @Override
+    public Stream<BookingResponseDto> streamBookings(BookingQuery query) {
+        return entityManager.createQuery(listing(query))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<BookingResponseDto> listing(BookingQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponseDto> criteria = cb.createQuery(BookingResponseDto.class);
+        Root<Booking> booking = criteria.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item", JoinType.INNER);
+        Join<Booking, User> booker = booking.join("booker", JoinType.INNER);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(query.getRole() == BookingRole.OWNER
+                ? cb.equal(item.get("owner").get("id"), query.getUserId())
+                : cb.equal(booker.get("id"), query.getUserId()));
+        predicates.addAll(statePredicates(cb, booking, query.getState(), query.getNow()));
+        if (query.getAfter() != null) {
+            predicates.add(seekPredicate(cb, booking, query.getAfter()));
+        }
+
+        return criteria.select(cb.construct(BookingResponseDto.class,
+                        booking.get("id"), booking.get("start"), booking.get("end"), booking.get("status"),
+                        booker.get("id"), booker.get("name"), item.get("id"), item.get("name")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+    }
+
+    /**
+     * Returns, per item, the latest approved booking that started before {@code now} and at most
+     * {@code upcomingLimit} approved bookings starting from {@code now}, so the rows read do not grow
+     * with the item's booking history.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BookingMoment> findNearestBookingMoments(Collection<Long> itemIds, LocalDateTime now,
+                                                         int upcomingLimit) {
+        List<Object[]> rows = entityManager.createNativeQuery(NEAREST_BOOKINGS_SQL)
+                .unwrap(NativeQuery.class)
+                .addScalar("item_id", Long.class)
+                .addScalar("id", Long.class)
+                .addScalar("booker_id", Long.class)
+                .addScalar("start_date", LocalDateTime.class)
+                .setParameter("itemIds", itemIds)
+                .setParameter("now", now)
+                .setParameter("upcomingLimit", upcomingLimit)
+                .getResultList();
+        List<BookingMoment> moments = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            moments.add(new BookingMoment((Long) row[0], (Long) row[1], (Long) row[2], (LocalDateTime) row[3]));
+        }
+        return moments;
+    }
+
+    private static Predicate seekPredicate(CriteriaBuilder cb, Root<Booking> booking, BookingCursor after) {
+        Path<LocalDateTime> start = booking.get("start");
+        return cb.or(
+                cb.lessThan(start, after.start()),
+                cb.and(cb.equal(start, after.start()), cb.lessThan(booking.get("id"), after.id())));
+    }
+
+    private static List<Predicate> statePredicates(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                                   LocalDateTime now) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        switch (state) {
+            case CURRENT:
+                return List.of(cb.lessThan(start, now), cb.greaterThan(end, now));
+            case PAST:
+                return List.of(cb.lessThan(end, now));
+            case FUTURE:
+                return List.of(cb.greaterThan(start, now));
+            case WAITING:
+                return List.of(cb.equal(booking.get("status"), BookingStatus.WAITING));
+            case REJECTED:
+                return List.of(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+            case ALL:
+            default:
+                return List.of();
+        }
+    }
+}
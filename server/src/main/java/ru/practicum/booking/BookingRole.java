@@ -0,0 +1,6 @@
+package ru.practicum.booking;
+
+public enum BookingRole {
+    BOOKER,     // Бронирования, созданные пользователем
+    OWNER       // Бронирования вещей пользователя
+}
@@ -0,0 +1,194 @@
+package ru.practicum.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.config.routing.PrimaryReads;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory per-item index of bookings that still occupy the item (everything except
+ * {@link #NON_BLOCKING_STATUSES}). Conflict lookups are answered from memory once the index is warm;
+ * while it is cold or being rebuilt they fall back to {@link BookingRepository#findConflictingBookings}.
+ * Bookings that have already ended cannot conflict with a new one, so they are not loaded on rebuild
+ * and are dropped from an item's timeline whenever the item is written. Local changes are applied once
+ * their transaction commits; changes made by other instances are picked up by a periodic rebuild
+ * ({@code shareit.booking.availability.refresh-interval}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingAvailabilityIndex {
+
+    public static final List<BookingStatus> NON_BLOCKING_STATUSES = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+
+    private final BookingRepository bookingRepository;
+    private final PrimaryReads primaryReads;
+
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Queue<Mutation> pendingMutations = new ConcurrentLinkedQueue<>();
+    private volatile Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking.availability.refresh-interval:PT5M}",
+            fixedDelayString = "${shareit.booking.availability.refresh-interval:PT5M}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        Map<Long, ItemTimeline> loaded;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            loaded = primaryReads.call(() -> bookingRepository.findBookedIntervals(NON_BLOCKING_STATUSES, now)).stream()
+                    .collect(Collectors.groupingBy(BookedInterval::itemId)).entrySet().stream()
+                    .collect(Collectors.toConcurrentMap(Map.Entry::getKey, e -> ItemTimeline.of(e.getValue())));
+        } catch (RuntimeException e) {
+            log.warn("Не удалось построить индекс занятости вещей, используется запрос к БД: {}", e.getMessage());
+            rebuildLock.writeLock().lock();
+            try {
+                pendingMutations.clear();
+                rebuilding = false;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+            return;
+        }
+
+        rebuildLock.writeLock().lock();
+        try {
+            Mutation mutation;
+            while ((mutation = pendingMutations.poll()) != null) {
+                mutation.applyTo(loaded);
+            }
+            timelines = loaded;
+            rebuilding = false;
+            ready = true;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        log.info("Индекс занятости вещей построен: {} вещей", loaded.size());
+    }
+
+    public List<Long> findConflictingBookingIds(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!ready) {
+            return bookingRepository.findConflictingBookings(itemId, NON_BLOCKING_STATUSES, start, end).stream()
+                    .map(Booking::getId)
+                    .collect(Collectors.toList());
+        }
+        return timelines.getOrDefault(itemId, ItemTimeline.EMPTY).overlapping(start, end);
+    }
+
+    public boolean hasConflicts(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!ready) {
+            return bookingRepository.existsConflictingBooking(itemId, NON_BLOCKING_STATUSES, start, end);
+        }
+        return timelines.getOrDefault(itemId, ItemTimeline.EMPTY).overlapsAny(start, end);
+    }
+
+    /**
+     * Brings the index in line with the saved state of the booking once the surrounding transaction
+     * commits, so other threads never see a booking that may still roll back.
+     */
+    public void onBookingSaved(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        BookedInterval current = NON_BLOCKING_STATUSES.contains(booking.getStatus())
+                ? null
+                : new BookedInterval(booking.getId(), itemId, booking.getStart(), booking.getEnd());
+        Mutation mutation = new Mutation(itemId, booking.getId(), current);
+        afterCommit(() -> apply(List.of(mutation)));
+    }
+
+    /**
+     * Forgets the bookings that deleting the user removes along with it (as booker or as item owner).
+     * Must be called before the user is deleted, inside the deleting transaction.
+     */
+    public void onUserDeleted(Long userId) {
+        List<Mutation> removals = bookingRepository
+                .findBookedIntervalsOfUser(userId, NON_BLOCKING_STATUSES, LocalDateTime.now()).stream()
+                .map(interval -> new Mutation(interval.itemId(), interval.bookingId(), null))
+                .collect(Collectors.toList());
+        if (!removals.isEmpty()) {
+            afterCommit(() -> apply(removals));
+        }
+    }
+
+    private void apply(List<Mutation> mutations) {
+        rebuildLock.readLock().lock();
+        try {
+            for (Mutation mutation : mutations) {
+                if (rebuilding) {
+                    pendingMutations.add(mutation);
+                } else {
+                    mutation.applyTo(timelines);
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Mutation(Long itemId, Long bookingId, BookedInterval interval) {
+
+        void applyTo(Map<Long, ItemTimeline> target) {
+            LocalDateTime now = LocalDateTime.now();
+            if (interval != null) {
+                target.compute(itemId, (id, timeline) ->
+                        (timeline == null ? ItemTimeline.EMPTY : timeline).with(interval, now));
+            } else {
+                target.computeIfPresent(itemId, (id, timeline) -> {
+                    ItemTimeline updated = timeline.without(bookingId, now);
+                    return updated.size() == 0 ? null : updated;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.exception.BookingConflictException;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Optimistic guard over {@code items.booking_version}, shared by every server instance. A booking reads the
+ * counter, runs the authoritative conflict query and then advances the counter only if nobody did so in
+ * between; the advancing UPDATE keeps the item row locked until the transaction ends, so a competing booking
+ * of the same item either waits for it and retries or sees its row. The column is not mapped on
+ * {@code Item}, so item edits neither bump it nor fail on it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemBookingGuard {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private static final String SELECT_VERSION = "SELECT booking_version FROM items WHERE id = ?";
+    private static final String ADVANCE_VERSION =
+            "UPDATE items SET booking_version = booking_version + 1 WHERE id = ? AND booking_version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the item for the current transaction once {@code hasConflicts} answers {@code false} against
+     * a state no other booking has changed since. Must run inside a read-write transaction.
+     */
+    public void claim(Long itemId, BooleanSupplier hasConflicts) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long version = currentVersion(itemId);
+            if (hasConflicts.getAsBoolean()) {
+                throw new BookingConflictException("Вещь уже забронирована на указанный период.");
+            }
+            if (jdbcTemplate.update(ADVANCE_VERSION, itemId, version) == 1) {
+                return;
+            }
+        }
+        throw new BookingConflictException("Вещь бронируется параллельно, повторите запрос.");
+    }
+
+    private long currentVersion(Long itemId) {
+        try {
+            Long version = jdbcTemplate.queryForObject(SELECT_VERSION, Long.class, itemId);
+            return version == null ? 0 : version;
+        } catch (EmptyResultDataAccessException e) {
+            throw new BookingConflictException("Вещь с ID " + itemId + " удалена во время бронирования.");
+        }
+    }
+}
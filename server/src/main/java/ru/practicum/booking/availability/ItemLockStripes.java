@@ -0,0 +1,53 @@
+package ru.practicum.booking.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by item id hash. Bookings of different items almost never meet on the
+ * same stripe, so waiting only happens between requests for the same (or a colliding) item.
+ */
+@Component
+public class ItemLockStripes {
+
+    private final Lock[] stripes;
+
+    public ItemLockStripes(@Value("${shareit.booking.lock-stripes:256}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Количество блокировок должно быть положительным.");
+        }
+        this.stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Takes the item's stripe and keeps it until the current transaction completes, so that the next
+     * booking of the item sees this one whether it commits or rolls back.
+     */
+    public void lockUntilTransactionEnds(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Блокировка вещи требует активной транзакции.");
+        }
+        Lock lock = stripeFor(itemId);
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private Lock stripeFor(Long itemId) {
+        int hash = Long.hashCode(itemId);
+        hash ^= hash >>> 16;
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable per-item list of booked intervals sorted by start, with a running maximum of the end.
+ * Whether anything overlaps a range is a single binary search; listing the overlaps walks back from
+ * there while the running maximum still reaches into the range.
+ */
+final class ItemTimeline {
+
+    static final ItemTimeline EMPTY = new ItemTimeline(new BookedInterval[0]);
+
+    private static final Comparator<BookedInterval> ORDER = Comparator
+            .comparing(BookedInterval::start)
+            .thenComparing(BookedInterval::bookingId);
+
+    private final BookedInterval[] intervals;
+    private final LocalDateTime[] maxEnd;
+
+    private ItemTimeline(BookedInterval[] intervals) {
+        this.intervals = intervals;
+        this.maxEnd = new LocalDateTime[intervals.length];
+        for (int i = 0; i < intervals.length; i++) {
+            LocalDateTime end = intervals[i].end();
+            maxEnd[i] = (i == 0 || end.isAfter(maxEnd[i - 1])) ? end : maxEnd[i - 1];
+        }
+    }
+
+    static ItemTimeline of(List<BookedInterval> intervals) {
+        BookedInterval[] sorted = intervals.toArray(new BookedInterval[0]);
+        Arrays.sort(sorted, ORDER);
+        return new ItemTimeline(sorted);
+    }
+
+    int size() {
+        return intervals.length;
+    }
+
+    /**
+     * Returns the timeline with {@code interval} in place of any interval of the same booking and
+     * without the intervals that ended by {@code now}. The interval is inserted at its binary-searched
+     * position, so the copy needs no sorting.
+     */
+    ItemTimeline with(BookedInterval interval, LocalDateTime now) {
+        BookedInterval[] kept = new BookedInterval[intervals.length + 1];
+        int size = 0;
+        for (BookedInterval existing : intervals) {
+            if (existing.end().isAfter(now) && !existing.bookingId().equals(interval.bookingId())) {
+                kept[size++] = existing;
+            }
+        }
+        int position = Arrays.binarySearch(kept, 0, size, interval, ORDER);
+        int insertAt = position >= 0 ? position : -position - 1;
+        System.arraycopy(kept, insertAt, kept, insertAt + 1, size - insertAt);
+        kept[insertAt] = interval;
+        return new ItemTimeline(size + 1 == kept.length ? kept : Arrays.copyOf(kept, size + 1));
+    }
+
+    /**
+     * Returns the timeline without the booking and without the intervals that ended by {@code now}.
+     */
+    ItemTimeline without(Long bookingId, LocalDateTime now) {
+        BookedInterval[] kept = new BookedInterval[intervals.length];
+        int size = 0;
+        for (BookedInterval existing : intervals) {
+            if (existing.end().isAfter(now) && !existing.bookingId().equals(bookingId)) {
+                kept[size++] = existing;
+            }
+        }
+        if (size == intervals.length) {
+            return this;
+        }
+        return size == 0 ? EMPTY : new ItemTimeline(Arrays.copyOf(kept, size));
+    }
+
+    boolean overlapsAny(LocalDateTime start, LocalDateTime end) {
+        int last = lastStartingBefore(end);
+        return last >= 0 && maxEnd[last].isAfter(start);
+    }
+
+    List<Long> overlapping(LocalDateTime start, LocalDateTime end) {
+        int last = lastStartingBefore(end);
+        List<Long> result = new ArrayList<>();
+        for (int i = last; i >= 0 && maxEnd[i].isAfter(start); i--) {
+            if (intervals[i].end().isAfter(start)) {
+                result.add(intervals[i].bookingId());
+            }
+        }
+        return result;
+    }
+
+    private int lastStartingBefore(LocalDateTime end) {
+        int low = 0;
+        int high = intervals.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (intervals[mid].start().isBefore(end)) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.booking.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in a booking listing ordered by {@code start DESC, id DESC}: the next page starts strictly
+ * after the booking with this start and id. Serialized as {@code <start>,<id>}.
+ */
+public record BookingCursor(LocalDateTime start, Long id) {
+
+    public static BookingCursor of(BookingResponseDto booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor parse(String value) {
+        int separator = value.lastIndexOf(',');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value);
+        }
+        try {
+            return new BookingCursor(
+                    LocalDateTime.parse(value.substring(0, separator).trim()),
+                    Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return start + "," + id;
+    }
+}
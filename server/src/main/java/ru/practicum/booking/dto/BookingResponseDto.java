@@ -20,6 +20,11 @@ public class BookingResponseDto {
     private BookerDto booker;
     private ItemDto item;
 
+    public BookingResponseDto(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                              Long bookerId, String bookerName, Long itemId, String itemName) {
+        this(id, start, end, status, new BookerDto(bookerId, bookerName), new ItemDto(itemId, itemName));
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
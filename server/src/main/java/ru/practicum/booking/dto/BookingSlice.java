@@ -0,0 +1,17 @@
+package ru.practicum.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingSlice {
+    private List<BookingResponseDto> bookings;
+    private BookingCursor nextCursor;
+}
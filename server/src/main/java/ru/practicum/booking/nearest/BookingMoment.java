@@ -0,0 +1,6 @@
+package ru.practicum.booking.nearest;
+
+import java.time.LocalDateTime;
+
+public record BookingMoment(Long itemId, Long bookingId, Long bookerId, LocalDateTime start) {
+}
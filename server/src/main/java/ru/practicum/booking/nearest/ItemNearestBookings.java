@@ -0,0 +1,8 @@
+package ru.practicum.booking.nearest;
+
+import ru.practicum.booking.dto.NearestBookingDto;
+
+public record ItemNearestBookings(NearestBookingDto lastBooking, NearestBookingDto nextBooking) {
+
+    public static final ItemNearestBookings EMPTY = new ItemNearestBookings(null, null);
+}
@@ -0,0 +1,147 @@
+package ru.practicum.booking.nearest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.dto.NearestBookingDto;
+import ru.practicum.config.routing.PrimaryReads;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Per-item cache of the last and next approved bookings shown to item owners, bounded in size and age.
+ * Items missing from the cache are loaded with one query, which reads the last booking and a short
+ * window of upcoming ones per item on the primary, and are stored once the reading transaction commits;
+ * approving or rejecting a booking updates the cached item after commit. A load that raced with such an
+ * update is discarded instead of being stored.
+ */
+@Component
+public class NearestBookingCache {
+
+    public static final int UPCOMING_LIMIT = 8;
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final BookingRepository bookingRepository;
+    private final PrimaryReads primaryReads;
+
+    private final Cache<Long, NearestBookings> entries;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public NearestBookingCache(BookingRepository bookingRepository,
+                               PrimaryReads primaryReads,
+                               @Value("${shareit.bookings.nearest-cache.max-size:100000}") long maxSize,
+                               @Value("${shareit.bookings.nearest-cache.ttl:10m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.primaryReads = primaryReads;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public ItemNearestBookings find(Long itemId, LocalDateTime now) {
+        return findAll(List.of(itemId), now).get(itemId);
+    }
+
+    public Map<Long, ItemNearestBookings> findAll(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemNearestBookings> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            NearestBookings cached = entries.getIfPresent(itemId);
+            if (cached == null) {
+                missing.add(itemId);
+                continue;
+            }
+            NearestBookings advanced = cached.advance(now);
+            if (advanced == null) {
+                entries.asMap().remove(itemId, cached);
+                missing.add(itemId);
+                continue;
+            }
+            if (advanced != cached) {
+                entries.asMap().replace(itemId, cached, advanced);
+            }
+            result.put(itemId, toView(advanced));
+        }
+        if (!missing.isEmpty()) {
+            load(missing, now, result);
+        }
+        return result;
+    }
+
+    public void onBookingSaved(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        BookingMoment moment = booking.getStatus() == BookingStatus.APPROVED
+                ? new BookingMoment(itemId, bookingId, booking.getBooker().getId(), booking.getStart())
+                : null;
+        afterCommit(() -> {
+            generations.incrementAndGet(stripe(itemId));
+            entries.asMap().computeIfPresent(itemId, (id, cached) -> moment != null
+                    ? cached.with(moment, LocalDateTime.now())
+                    : cached.without(bookingId));
+        });
+    }
+
+    private void load(List<Long> itemIds, LocalDateTime now, Map<Long, ItemNearestBookings> result) {
+        Map<Long, Long> stamps = new HashMap<>();
+        for (Long itemId : itemIds) {
+            stamps.put(itemId, generations.get(stripe(itemId)));
+        }
+        Map<Long, List<BookingMoment>> moments = primaryReads.call(
+                        () -> bookingRepository.findNearestBookingMoments(itemIds, now, UPCOMING_LIMIT)).stream()
+                .collect(Collectors.groupingBy(BookingMoment::itemId));
+
+        Map<Long, NearestBookings> loaded = new HashMap<>();
+        for (Long itemId : itemIds) {
+            NearestBookings bookings = NearestBookings.of(moments.getOrDefault(itemId, List.of()), now, UPCOMING_LIMIT);
+            loaded.put(itemId, bookings);
+            result.put(itemId, toView(bookings));
+        }
+        afterCommit(() -> loaded.forEach((itemId, bookings) -> entries.asMap().compute(itemId, (id, cached) -> {
+            if (cached != null) {
+                return cached;
+            }
+            return generations.get(stripe(itemId)) == stamps.get(itemId) ? bookings : null;
+        })));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int stripe(Long itemId) {
+        return Math.floorMod(itemId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static ItemNearestBookings toView(NearestBookings bookings) {
+        return new ItemNearestBookings(toDto(bookings.last()), toDto(bookings.next()));
+    }
+
+    private static NearestBookingDto toDto(BookingMoment moment) {
+        return moment == null ? null : new NearestBookingDto(moment.bookingId(), moment.bookerId());
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.booking.nearest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable approved-booking summary of one item: the latest booking that has already started and
+ * the upcoming bookings sorted by start. Advancing the clock only ever moves bookings from the
+ * upcoming list into {@code last}, so older past bookings are never kept. When {@code complete} is
+ * false the upcoming list is only the first window of the item's upcoming bookings, and the summary
+ * becomes unusable once that window runs out.
+ */
+final class NearestBookings {
+
+    private static final Comparator<BookingMoment> ORDER = Comparator
+            .comparing(BookingMoment::start)
+            .thenComparing(BookingMoment::bookingId);
+
+    private final BookingMoment last;
+    private final BookingMoment[] upcoming;
+    private final boolean complete;
+
+    private NearestBookings(BookingMoment last, BookingMoment[] upcoming, boolean complete) {
+        this.last = last;
+        this.upcoming = upcoming;
+        this.complete = complete;
+    }
+
+    /**
+     * Builds the summary from the rows of {@code findNearestBookingMoments}: at most one booking
+     * started before {@code now} and up to {@code upcomingLimit} bookings after it.
+     */
+    static NearestBookings of(List<BookingMoment> moments, LocalDateTime now, int upcomingLimit) {
+        BookingMoment[] sorted = moments.toArray(new BookingMoment[0]);
+        Arrays.sort(sorted, ORDER);
+        long upcomingCount = Arrays.stream(sorted).filter(moment -> !moment.start().isBefore(now)).count();
+        return new NearestBookings(null, sorted, upcomingCount < upcomingLimit).advance(now);
+    }
+
+    BookingMoment last() {
+        return last;
+    }
+
+    BookingMoment next() {
+        return upcoming.length == 0 ? null : upcoming[0];
+    }
+
+    /**
+     * Returns the summary as of {@code now}, or {@code null} when the loaded window of upcoming
+     * bookings is exhausted and the summary has to be reloaded.
+     */
+    NearestBookings advance(LocalDateTime now) {
+        int started = 0;
+        while (started < upcoming.length && upcoming[started].start().isBefore(now)) {
+            started++;
+        }
+        if (!complete && started == upcoming.length) {
+            return null;
+        }
+        if (started == 0) {
+            return this;
+        }
+        return new NearestBookings(upcoming[started - 1], Arrays.copyOfRange(upcoming, started, upcoming.length),
+                complete);
+    }
+
+    NearestBookings with(BookingMoment moment, LocalDateTime now) {
+        NearestBookings current = advance(now);
+        if (current == null) {
+            return null;
+        }
+        if (moment.start().isBefore(now)) {
+            return current.last == null || ORDER.compare(moment, current.last) > 0
+                    ? new NearestBookings(moment, current.upcoming, current.complete)
+                    : current;
+        }
+        if (!current.complete && ORDER.compare(moment, current.upcoming[current.upcoming.length - 1]) > 0) {
+            return current;
+        }
+        List<BookingMoment> copy = new ArrayList<>(current.upcoming.length + 1);
+        for (BookingMoment existing : current.upcoming) {
+            if (!existing.bookingId().equals(moment.bookingId())) {
+                copy.add(existing);
+            }
+        }
+        copy.add(moment);
+        copy.sort(ORDER);
+        return new NearestBookings(current.last, copy.toArray(new BookingMoment[0]), current.complete);
+    }
+
+    /**
+     * Returns the summary without the booking, or {@code null} when the booking was {@code last} or
+     * the last one of an incomplete window: what comes next to it is not kept, so the summary has to be
+     * reloaded.
+     */
+    NearestBookings without(Long bookingId) {
+        if (last != null && last.bookingId().equals(bookingId)) {
+            return null;
+        }
+        BookingMoment[] remaining = Arrays.stream(upcoming)
+                .filter(moment -> !moment.bookingId().equals(bookingId))
+                .toArray(BookingMoment[]::new);
+        if (remaining.length == upcoming.length) {
+            return this;
+        }
+        return !complete && remaining.length == 0 ? null : new NearestBookings(last, remaining, complete);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.booking.service;
+
+import ru.practicum.booking.dto.BookingResponseDto;
+
+import java.util.function.Consumer;
+
+/**
+ * A checked export that has not started reading yet. {@link #writeTo} reads the bookings in one
+ * transaction, passes each one to the consumer as it arrives and returns how many there were.
+ */
+@FunctionalInterface
+public interface BookingExport {
+
+    long writeTo(Consumer<BookingResponseDto> consumer);
+}
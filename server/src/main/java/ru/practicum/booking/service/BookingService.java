@@ -1,7 +1,9 @@
 package ru.practicum.booking.service;
 
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingRequestDto;
 import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.BookingSlice;
 import ru.practicum.booking.dto.BookingState;
 
 import java.util.List;
@@ -16,4 +18,14 @@ public interface BookingService {
     List<BookingResponseDto> getBookingsForUser(Long userId, BookingState state, int from, int size);
 
     List<BookingResponseDto> getBookingsForOwner(Long ownerId, BookingState state, int from, int size);
+
+    BookingSlice getBookingsForUser(Long userId, BookingState state, BookingCursor after, int size);
+
+    BookingSlice getBookingsForOwner(Long ownerId, BookingState state, BookingCursor after, int size);
+
+    /**
+     * Checks the owner and returns an export of every booking of the owner's items matching
+     * {@code state}, newest first.
+     */
+    BookingExport exportBookingsForOwner(Long ownerId, BookingState state);
 }
\ No newline at end of file
@@ -1,23 +1,28 @@
 package ru.practicum.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.booking.dto.*;
 import ru.practicum.booking.*;
 import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.booking.availability.ItemBookingGuard;
+import ru.practicum.booking.availability.ItemLockStripes;
+import ru.practicum.booking.nearest.NearestBookingCache;
 import ru.practicum.exception.*;
 import ru.practicum.item.Item;
 import ru.practicum.item.repository.ItemRepository;
 import ru.practicum.user.User;
 import ru.practicum.user.UserRepository;
+import ru.practicum.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,13 +31,20 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final UserExistenceService userExistence;
     private final ItemRepository itemRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemLockStripes itemLocks;
+    private final ItemBookingGuard bookingGuard;
+    private final NearestBookingCache nearestBookingCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional
     public BookingResponseDto createBooking(Long bookerId, BookingRequestDto bookingDto) {
         User booker = userRepository.findById(bookerId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с ID " + bookerId + " не найден."));
+        itemLocks.lockUntilTransactionEnds(bookingDto.getItemId());
         Item item = itemRepository.findById(bookingDto.getItemId())
                 .orElseThrow(() -> new ItemNotFoundException("Вещь с ID " + bookingDto.getItemId() + " не найдена."));
 
@@ -46,9 +58,14 @@ public class BookingServiceImpl implements BookingService {
             throw new InvalidBookingTimeException("Некорректное время бронирования.");
         }
 
+        // only the guarded database check decides: the in-memory index may still hold bookings that are gone
+        bookingGuard.claim(item.getId(), () -> bookingRepository.existsConflictingBooking(item.getId(),
+                BookingAvailabilityIndex.NON_BLOCKING_STATUSES, bookingDto.getStart(), bookingDto.getEnd()));
+
         Booking booking = BookingMapper.toBooking(bookingDto, item, booker);
 
         Booking savedBooking = bookingRepository.save(booking);
+        availabilityIndex.onBookingSaved(savedBooking);
         return BookingMapper.toBookingResponseDto(savedBooking);
     }
 
@@ -66,7 +83,10 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        availabilityIndex.onBookingSaved(savedBooking);
+        nearestBookingCache.onBookingSaved(savedBooking);
+        return BookingMapper.toBookingResponseDto(savedBooking);
     }
 
     @Override
@@ -82,69 +102,65 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> getBookingsForUser(Long userId, BookingState state, int from, int size) {
-        userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("Пользователь с ID " + userId + " не найден."));
-        Pageable pageable = PageRequest.of(from / size, size);
-        LocalDateTime now = LocalDateTime.now();
-        Page<Booking> bookingsPage;
-
-        switch (state) {
-            case CURRENT:
-                bookingsPage = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now, pageable);
-                break;
-            case PAST:
-                bookingsPage = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, now, pageable);
-                break;
-            case FUTURE:
-                bookingsPage = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, now, pageable);
-                break;
-            case WAITING:
-                bookingsPage = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookingsPage = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pageable);
-                break;
-            case ALL:
-            default:
-                bookingsPage = bookingRepository.findAllByBookerIdOrderByStartDesc(userId, pageable);
-                break;
-        }
-
-        return bookingsPage.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+        userExistence.requireExists(userId);
+        return findBookings(BookingRole.BOOKER, userId, state, from / size * size, null, size).getBookings();
     }
 
     @Override
     public List<BookingResponseDto> getBookingsForOwner(Long ownerId, BookingState state, int from, int size) {
-        userRepository.findById(ownerId).orElseThrow(() -> new UserNotFoundException("Пользователь с ID " + ownerId + " не найден."));
-        Pageable pageable = PageRequest.of(from / size, size);
-        LocalDateTime now = LocalDateTime.now();
-        Page<Booking> bookingsPage;
-
-        switch (state) {
-            case CURRENT:
-                bookingsPage = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId, now, now, pageable);
-                break;
-            case PAST:
-                bookingsPage = bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, now, pageable);
-                break;
-            case FUTURE:
-                bookingsPage = bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, now, pageable);
-                break;
-            case WAITING:
-                bookingsPage = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookingsPage = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED, pageable);
-                break;
-            case ALL:
-            default:
-                bookingsPage = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable);
-                break;
-        }
+        userExistence.requireExists(ownerId);
+        return findBookings(BookingRole.OWNER, ownerId, state, from / size * size, null, size).getBookings();
+    }
+
+    @Override
+    public BookingSlice getBookingsForUser(Long userId, BookingState state, BookingCursor after, int size) {
+        userExistence.requireExists(userId);
+        return findBookings(BookingRole.BOOKER, userId, state, 0, after, size);
+    }
+
+    @Override
+    public BookingSlice getBookingsForOwner(Long ownerId, BookingState state, BookingCursor after, int size) {
+        userExistence.requireExists(ownerId);
+        return findBookings(BookingRole.OWNER, ownerId, state, 0, after, size);
+    }
+
+    @Override
+    public BookingExport exportBookingsForOwner(Long ownerId, BookingState state) {
+        userExistence.requireExists(ownerId);
+        BookingQuery query = BookingQuery.builder()
+                .role(BookingRole.OWNER)
+                .userId(ownerId)
+                .state(state)
+                .now(LocalDateTime.now())
+                .build();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return consumer -> readOnly.execute(status -> {
+            AtomicLong exported = new AtomicLong();
+            try (Stream<BookingResponseDto> bookings = bookingRepository.streamBookings(query)) {
+                bookings.forEach(booking -> {
+                    consumer.accept(booking);
+                    exported.incrementAndGet();
+                });
+            }
+            return exported.get();
+        });
+    }
 
-        return bookingsPage.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+    private BookingSlice findBookings(BookingRole role, Long userId, BookingState state, int offset,
+                                      BookingCursor after, int size) {
+        BookingQuery query = BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(state)
+                .now(LocalDateTime.now())
+                .offset(offset)
+                .after(after)
+                .size(size)
+                .build();
+        Slice<BookingResponseDto> slice = bookingRepository.findBookings(query);
+        List<BookingResponseDto> bookings = slice.getContent();
+        BookingCursor nextCursor = slice.hasNext() ? BookingCursor.of(bookings.get(bookings.size() - 1)) : null;
+        return new BookingSlice(bookings, nextCursor);
     }
-}
\ No newline at end of file
+}
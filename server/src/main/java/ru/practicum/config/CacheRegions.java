@@ -0,0 +1,18 @@
+package ru.practicum.config;
+
+/**
+ * Second-level cache regions. Each one is sized in {@code hibernate-cache.conf}; a region missing
+ * from that file fails the start.
+ */
+public final class CacheRegions {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String ITEM_REQUESTS = "item-requests";
+    public static final String ITEM_COMMENTS = "item-comments";
+
+    static final String[] ALL = {USERS, ITEMS, ITEM_REQUESTS, ITEM_COMMENTS};
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Recreates the schema from the migrations on every start, the way {@code ddl-auto=create} used to.
+     * Meant for tests and local runs only; also requires {@code spring.flyway.clean-disabled=false}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shareit.flyway.recreate-schema", havingValue = "true")
+    public FlywayMigrationStrategy recreateSchemaMigrationStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, such as the periodic booking availability refresh.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
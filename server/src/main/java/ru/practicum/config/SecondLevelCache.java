@@ -0,0 +1,81 @@
+package ru.practicum.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.request.ItemRequest;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps the second-level cache in step with rows the database deletes on its own and publishes its
+ * effectiveness. Per region, {@code hibernate.second.level.cache.requests} counts hits and misses and
+ * {@code hibernate.second.level.cache.hit.ratio} is their ratio; both need
+ * {@code hibernate.generate_statistics}.
+ */
+@Component
+public class SecondLevelCache implements MeterBinder {
+
+    private final SessionFactory sessionFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Deleting a user cascades in the database to the user's requests and to the comments they wrote on
+     * other owners' items, neither of which Hibernate sees; both are dropped once the delete commits.
+     * The user's own items are removed by Hibernate and leave the cache by themselves.
+     */
+    public void onUserDeleted() {
+        Runnable evict = () -> {
+            sessionFactory.getCache().evictEntityData(ItemRequest.class);
+            sessionFactory.getCache().evictQueryRegion(CacheRegions.ITEM_COMMENTS);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String region : CacheRegions.ALL) {
+            counter(registry, statistics, region, "hit", CacheRegionStatistics::getHitCount);
+            counter(registry, statistics, region, "miss", CacheRegionStatistics::getMissCount);
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics, String region, String result,
+                                ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.second.level.cache.requests", statistics,
+                        s -> count.applyAsDouble(s.getCacheRegionStatistics(region)))
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) regionStatistics.getHitCount() / requests;
+    }
+}
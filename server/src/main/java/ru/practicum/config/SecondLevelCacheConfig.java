@@ -0,0 +1,33 @@
+package ru.practicum.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+/**
+ * Regions of the second-level cache are defined in {@code hibernate-cache.conf}. Every persistence unit
+ * gets a cache manager of its own, which Hibernate closes together with the session factory, so one
+ * application context shutting down never closes the caches of another.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final URI CONFIG = URI.create("classpath:hibernate-cache.conf");
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager() {
+        // the provider keeps one manager per class loader and holds the loader only weakly
+        ClassLoader owner = new ClassLoader(SecondLevelCacheConfig.class.getClassLoader()) {
+        };
+        return properties -> {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            properties.put(ConfigSettings.CACHE_MANAGER, provider.getCacheManager(CONFIG, owner));
+        };
+    }
+}
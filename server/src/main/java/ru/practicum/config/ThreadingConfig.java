@@ -0,0 +1,22 @@
+package ru.practicum.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Virtual threads for request handling are switched on with {@code spring.threads.virtual.enabled=true}
+ * and take effect only on Java 21+; on older runtimes Tomcat keeps its platform thread pool.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode(ApplicationReadyEvent event) {
+        log.info("Виртуальные потоки для запросов: {}",
+                Threading.VIRTUAL.isActive(event.getApplicationContext().getEnvironment()));
+    }
+}
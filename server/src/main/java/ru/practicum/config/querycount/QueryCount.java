@@ -0,0 +1,80 @@
+package ru.practicum.config.querycount;
+
+import lombok.Getter;
+
+/**
+ * SQL work done while handling one request, collected on the thread that handles it. Only statements
+ * Hibernate prepares are seen; plain JDBC through {@code JdbcTemplate} is not counted.
+ */
+@Getter
+public final class QueryCount {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final int budget;
+    private final boolean failOverBudget;
+    private long statements;
+    private long rows;
+    private long entityLoads;
+    private long flushes;
+    private long transactionNanos;
+    private int openTransactions;
+    private long transactionStart;
+
+    private QueryCount(String endpoint, int budget, boolean failOverBudget) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.failOverBudget = failOverBudget;
+    }
+
+    static QueryCount start(String endpoint, int budget, boolean failOverBudget) {
+        QueryCount count = new QueryCount(endpoint, budget, failOverBudget);
+        CURRENT.set(count);
+        return count;
+    }
+
+    static QueryCount current() {
+        return CURRENT.get();
+    }
+
+    void finish() {
+        CURRENT.remove();
+    }
+
+    boolean isOverBudget() {
+        return budget > 0 && statements > budget;
+    }
+
+    void onStatement() {
+        statements++;
+        if (failOverBudget && isOverBudget()) {
+            throw new QueryBudgetExceededException("Эндпоинт " + endpoint + " превысил бюджет в " + budget
+                    + " SQL-запросов.");
+        }
+    }
+
+    void onRows(int count) {
+        rows += count;
+    }
+
+    void onEntityLoad() {
+        entityLoads++;
+    }
+
+    void onFlush() {
+        flushes++;
+    }
+
+    void onTransactionBegin() {
+        if (openTransactions++ == 0) {
+            transactionStart = System.nanoTime();
+        }
+    }
+
+    void onTransactionEnd() {
+        if (openTransactions > 0 && --openTransactions == 0) {
+            transactionNanos += System.nanoTime() - transactionStart;
+        }
+    }
+}
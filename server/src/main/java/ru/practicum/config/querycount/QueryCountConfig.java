@@ -0,0 +1,78 @@
+package ru.practicum.config.querycount;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Counts SQL per controller method. Needs {@code hibernate.generate_statistics}. With
+ * {@code shareit.query-budget.max-statements} above zero, an endpoint issuing more statements is logged,
+ * or with {@code shareit.query-budget.fail-on-exceed=true} fails at the statement over the budget, which
+ * is meant for tests.
+ */
+@Configuration
+public class QueryCountConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int maxStatements;
+    private final boolean failOnExceed;
+
+    public QueryCountConfig(ObjectProvider<MeterRegistry> meterRegistry,
+                            @Value("${shareit.query-budget.max-statements:0}") int maxStatements,
+                            @Value("${shareit.query-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(meters ->
+                registry.addInterceptor(new QueryCountInterceptor(meters, maxStatements, failOnExceed)));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingStatistics() {
+        return properties -> properties.put(AvailableSettings.STATS_BUILDER,
+                (StatisticsFactory) QueryCountingStatistics::new);
+    }
+
+    @Bean
+    public TransactionExecutionListener queryCountTransactionListener() {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+                QueryCount count = QueryCount.current();
+                if (count != null && beginFailure == null && transaction.isNewTransaction()) {
+                    count.onTransactionBegin();
+                }
+            }
+
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                onTransactionEnd(transaction);
+            }
+
+            @Override
+            public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+                onTransactionEnd(transaction);
+            }
+        };
+    }
+
+    private static void onTransactionEnd(TransactionExecution transaction) {
+        QueryCount count = QueryCount.current();
+        if (count != null && transaction.isNewTransaction()) {
+            count.onTransactionEnd();
+        }
+    }
+}
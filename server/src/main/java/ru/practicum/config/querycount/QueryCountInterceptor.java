@@ -0,0 +1,83 @@
+package ru.practicum.config.querycount;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the SQL work of every controller method, tagged {@code endpoint=Controller.method}: the
+ * distributions {@code shareit.endpoint.statements}, {@code .rows}, {@code .entity.loads} and
+ * {@code .flushes}, the timer {@code shareit.endpoint.transaction.time} and the counter
+ * {@code shareit.endpoint.query.budget.exceeded}. A streaming response is counted up to the point
+ * its body starts.
+ */
+@Slf4j
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry registry;
+    private final int defaultBudget;
+    private final boolean failOverBudget;
+
+    public QueryCountInterceptor(MeterRegistry registry, int defaultBudget, boolean failOverBudget) {
+        this.registry = registry;
+        this.defaultBudget = defaultBudget;
+        this.failOverBudget = failOverBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+            String endpoint = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            QueryCount.start(endpoint, budget == null ? defaultBudget : budget.value(), failOverBudget);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        record();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        record();
+    }
+
+    private void record() {
+        QueryCount count = QueryCount.current();
+        if (count == null) {
+            return;
+        }
+        count.finish();
+        String endpoint = count.getEndpoint();
+        summary("shareit.endpoint.statements", endpoint).record(count.getStatements());
+        summary("shareit.endpoint.rows", endpoint).record(count.getRows());
+        summary("shareit.endpoint.entity.loads", endpoint).record(count.getEntityLoads());
+        summary("shareit.endpoint.flushes", endpoint).record(count.getFlushes());
+        Timer.builder("shareit.endpoint.transaction.time")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(count.getTransactionNanos(), TimeUnit.NANOSECONDS);
+        if (count.isOverBudget()) {
+            registry.counter("shareit.endpoint.query.budget.exceeded", "endpoint", endpoint).increment();
+            log.warn("Эндпоинт {} выполнил {} SQL-запросов при бюджете {}", endpoint, count.getStatements(),
+                    count.getBudget());
+        }
+    }
+
+    private DistributionSummary summary(String name, String endpoint) {
+        return DistributionSummary.builder(name)
+                .tag("endpoint", endpoint)
+                .register(registry);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.config.querycount;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate's statistics, additionally charged to the request the current thread is handling.
+ */
+class QueryCountingStatistics extends StatisticsImpl {
+
+    QueryCountingStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        QueryCount count = QueryCount.current();
+        if (count != null) {
+            count.onStatement();
+        }
+    }
+
+    @Override
+    public void queryExecuted(String query, int rows, long time) {
+        super.queryExecuted(query, rows, time);
+        QueryCount count = QueryCount.current();
+        if (count != null) {
+            count.onRows(rows);
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        QueryCount count = QueryCount.current();
+        if (count != null) {
+            count.onEntityLoad();
+        }
+    }
+
+    @Override
+    public void flush() {
+        super.flush();
+        QueryCount count = QueryCount.current();
+        if (count != null) {
+            count.onFlush();
+        }
+    }
+}
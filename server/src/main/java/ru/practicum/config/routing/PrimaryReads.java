@@ -0,0 +1,48 @@
+package ru.practicum.config.routing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Reads that feed long-lived in-memory structures (the availability and search indexes, the nearest
+ * booking cache) and so must not see a lagging replica. With replica routing enabled the action runs
+ * in its own read-only transaction pinned to the primary, even when called inside a transaction that
+ * has already read from a replica; without routing it simply runs in the caller's transaction.
+ */
+@Component
+public class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final boolean routingEnabled;
+    private final TransactionTemplate transactionTemplate;
+
+    public PrimaryReads(@Value("${shareit.datasource.routing.enabled:false}") boolean routingEnabled,
+                        PlatformTransactionManager transactionManager) {
+        this.routingEnabled = routingEnabled;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        if (!routingEnabled || Boolean.TRUE.equals(PINNED.get())) {
+            return action.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.config.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Users who committed a write within the replication lag. The user is the one named by the
+ * {@code X-Sharer-User-Id} header of the request being handled; work outside a request has no user.
+ */
+public class RecentWriters {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final Cache<Long, Boolean> writers;
+
+    public RecentWriters(Duration replicationLag, long maxSize) {
+        this.writers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(replicationLag)
+                .build();
+    }
+
+    public void onWrite(Long userId) {
+        writers.put(userId, true);
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return userId != null && writers.getIfPresent(userId) != null;
+    }
+
+    public Long currentUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        String header = servletAttributes.getRequest().getHeader(USER_ID_HEADER);
+        try {
+            return header == null ? null : Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.config.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with the primary plus the configured read replicas
+ * when {@code shareit.datasource.routing.enabled=true}. Migrations and writes still go to the primary only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaRoutingProperties properties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException("Маршрутизация на реплики включена, но реплики не заданы.");
+        }
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            replicas.add(replica(primaryDataSource, properties.getReplicas().get(i), i, meterRegistry));
+        }
+        RecentWriters recentWriters = new RecentWriters(properties.getReplicationLag(),
+                properties.getRecentWritersMaxSize());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getSelection(), recentWriters);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource replica(HikariDataSource primary, ReplicaRoutingProperties.Replica replica,
+                                            int index, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        primary.copyStateTo(dataSource);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setPoolName(ReplicaRoutingDataSource.replicaKey(index));
+        dataSource.setReadOnly(true);
+        // replicas are not beans, so the pool metrics Spring Boot binds to data sources miss them
+        meterRegistry.ifAvailable(registry -> {
+            if (dataSource.getMetricsTrackerFactory() == null) {
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        });
+        return dataSource;
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.config.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. A user who has just
+ * written keeps reading from the primary for the replication lag, and so do reads pinned with
+ * {@link PrimaryReads}. A session reading from a replica does not put what it loads into the
+ * second-level cache, where a stale row would outlive the lag. The transaction must be known when
+ * the connection is taken, so this data source sits behind a lazy connection proxy.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<HikariDataSource> replicas;
+    private final ReplicaSelection selection;
+    private final RecentWriters recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, ReplicaSelection selection,
+                                    RecentWriters recentWriters) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.recentWriters = recentWriters;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(replicaKey(i), this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        Long userId = recentWriters.currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.onWrite(userId);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (PrimaryReads.isPinned() || recentWriters.wroteRecently(userId)) {
+            return PRIMARY;
+        }
+        skipSecondLevelCachePuts();
+        return replicaKey(selectReplica());
+    }
+
+    private static void skipSecondLevelCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (!(resource instanceof EntityManagerHolder holder)) {
+                continue;
+            }
+            Session session = holder.getEntityManager().unwrap(Session.class);
+            CacheMode previous = session.getCacheMode();
+            session.setCacheMode(CacheMode.GET);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (session.isOpen()) {
+                        session.setCacheMode(previous);
+                    }
+                }
+            });
+        }
+    }
+
+    private int selectReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (selection == ReplicaSelection.ROUND_ROBIN) {
+            return start;
+        }
+        int best = start;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            int active = activeConnections(replicas.get(candidate));
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private static int activeConnections(HikariDataSource replica) {
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
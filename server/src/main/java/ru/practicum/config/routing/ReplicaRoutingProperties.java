@@ -0,0 +1,44 @@
+package ru.practicum.config.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas behind {@code spring.datasource}. Their pools take the primary's
+ * {@code spring.datasource.hikari} settings; only the connection details differ.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+
+    /**
+     * How far the replicas may lag behind the primary. For this long after a user's write transaction
+     * commits, that user's reads still go to the primary, so they see their own changes.
+     */
+    private Duration replicationLag = Duration.ofSeconds(2);
+
+    private long recentWritersMaxSize = 100_000;
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.config.routing;
+
+public enum ReplicaSelection {
+
+    ROUND_ROBIN,
+
+    /**
+     * The replica whose pool has the fewest connections in use; ties go round-robin.
+     */
+    LEAST_LOADED
+}
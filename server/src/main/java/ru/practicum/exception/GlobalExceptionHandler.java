@@ -3,6 +3,7 @@ package ru.practicum.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -118,6 +119,31 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(BookingConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Map<String, String>> handleBookingConflict(final BookingConflictException e) {
+        log.warn("Конфликт бронирования: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Booking conflict",
+                        "errorMessage", e.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Map<String, String>> handleConcurrentModification(
+            final ObjectOptimisticLockingFailureException e) {
+        log.warn("Параллельное изменение {}: {}", e.getPersistentClassName(), e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Concurrent modification",
+                        "errorMessage", "Данные изменены параллельным запросом, повторите запрос."
+                ));
+    }
+
     @ExceptionHandler(UserAccessDeniedException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<Map<String, String>> handleUserAccessDeniedException(final UserAccessDeniedException e) {
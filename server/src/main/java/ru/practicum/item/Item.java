@@ -2,6 +2,9 @@ package ru.practicum.item;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.config.CacheRegions;
 import ru.practicum.request.ItemRequest;
 import ru.practicum.user.User;
 
@@ -16,6 +19,8 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ITEMS)
 @Table(name = "items")
 public class Item {
 
@@ -1,14 +1,25 @@
 package ru.practicum.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.config.querycount.QueryBudget;
+import ru.practicum.item.batch.ItemImport;
+import ru.practicum.item.batch.ItemImportRowResult;
+import ru.practicum.item.batch.ItemImportSummary;
+import ru.practicum.item.batch.ItemImporter;
 import ru.practicum.item.dto.*;
 import ru.practicum.item.service.ItemService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -18,6 +29,8 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImporter itemImporter;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ItemResponseDto> addItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
@@ -26,6 +39,30 @@ public class ItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdItem);
     }
 
+    /**
+     * Imports items as NDJSON: one line per row as soon as its chunk commits, then a summary line.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                             @RequestBody List<ItemCreateDto> items) {
+        ItemImport itemImport = itemImporter.prepare(ownerId, items);
+        StreamingResponseBody body = out -> {
+            ItemImportSummary summary = itemImporter.execute(itemImport, results -> {
+                try {
+                    for (ItemImportRowResult result : results) {
+                        writeLine(out, result);
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writeLine(out, summary);
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<ItemResponseDto> updateItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                       @PathVariable Long itemId,
@@ -35,12 +72,14 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
+    @QueryBudget(3)
     public ResponseEntity<ItemResponseDto> getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                        @PathVariable Long itemId) {
         return ResponseEntity.ok(itemService.getItemById(itemId, userId));
     }
 
     @GetMapping
+    @QueryBudget(4)
     public ResponseEntity<List<ItemResponseDto>> getItemsByOwner(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam int from,
@@ -63,4 +102,9 @@ public class ItemController {
             @RequestBody CommentRequestDto commentDto) {
         return ResponseEntity.ok(itemService.addComment(authorId, itemId, commentDto));
     }
-}
\ No newline at end of file
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.item.batch;
+
+import ru.practicum.item.dto.ItemCreateDto;
+
+import java.util.List;
+
+/**
+ * A validated bulk import: rows ready to insert, keyed by their position in the request, and rows already
+ * rejected.
+ */
+public final class ItemImport {
+
+    private final Long ownerId;
+    private final int total;
+    private final List<Row> accepted;
+    private final List<ItemImportRowResult> rejected;
+
+    ItemImport(Long ownerId, int total, List<Row> accepted, List<ItemImportRowResult> rejected) {
+        this.ownerId = ownerId;
+        this.total = total;
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    Long ownerId() {
+        return ownerId;
+    }
+
+    int total() {
+        return total;
+    }
+
+    List<Row> accepted() {
+        return accepted;
+    }
+
+    List<ItemImportRowResult> rejected() {
+        return rejected;
+    }
+
+    record Row(int index, ItemCreateDto item) {
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.item.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one row of a bulk import: the id of the created item, or why the row was rejected.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemImportRowResult(int index, Long id, String error) {
+
+    static ItemImportRowResult created(int index, long id) {
+        return new ItemImportRowResult(index, id, null);
+    }
+
+    static ItemImportRowResult rejected(int index, String error) {
+        return new ItemImportRowResult(index, null, error);
+    }
+}
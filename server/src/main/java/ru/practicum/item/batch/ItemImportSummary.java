@@ -0,0 +1,4 @@
+package ru.practicum.item.batch;
+
+public record ItemImportSummary(int total, int created, int failed) {
+}
@@ -0,0 +1,206 @@
+package ru.practicum.item.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.item.Item;
+import ru.practicum.item.dto.ItemCreateDto;
+import ru.practicum.item.search.ItemSearchEngine;
+import ru.practicum.request.ItemRequestRepository;
+import ru.practicum.user.service.UserExistenceService;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Imports many items of one owner. {@link #prepare} validates every row up front and resolves the owner
+ * and the referenced requests with one query each; {@link #execute} then inserts the accepted rows in
+ * chunks, each a JDBC batch in its own transaction, and reports every chunk once it has committed. A
+ * failed chunk fails only its own rows.
+ */
+@Service
+@Slf4j
+public class ItemImporter {
+
+    public static final int MAX_ITEMS = 10_000;
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    private static final String INSERT_ITEM = "INSERT INTO items (name, description, is_available, owner_id, "
+            + "request_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserExistenceService userExistence;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final int chunkSize;
+
+    public ItemImporter(JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        UserExistenceService userExistence,
+                        ItemRequestRepository itemRequestRepository,
+                        ItemSearchEngine searchEngine,
+                        @Value("${shareit.items.import.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userExistence = userExistence;
+        this.itemRequestRepository = itemRequestRepository;
+        this.searchEngine = searchEngine;
+        this.chunkSize = chunkSize;
+    }
+
+    public ItemImport prepare(Long ownerId, List<ItemCreateDto> items) {
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("За один раз можно импортировать не больше " + MAX_ITEMS + " вещей.");
+        }
+        userExistence.requireExists(ownerId);
+
+        List<ItemImport.Row> valid = new ArrayList<>(items.size());
+        List<ItemImportRowResult> rejected = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ItemCreateDto item = items.get(i);
+            String error = validate(item);
+            if (error == null) {
+                valid.add(new ItemImport.Row(i, item));
+            } else {
+                rejected.add(ItemImportRowResult.rejected(i, error));
+            }
+        }
+
+        Set<Long> requestIds = valid.stream()
+                .map(row -> row.item().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequests = requestIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(itemRequestRepository.findExistingIds(requestIds));
+
+        List<ItemImport.Row> accepted = new ArrayList<>(valid.size());
+        for (ItemImport.Row row : valid) {
+            Long requestId = row.item().getRequestId();
+            if (requestId == null || existingRequests.contains(requestId)) {
+                accepted.add(row);
+            } else {
+                rejected.add(ItemImportRowResult.rejected(row.index(), "Запрос с ID " + requestId + " не найден."));
+            }
+        }
+        rejected.sort(Comparator.comparingInt(ItemImportRowResult::index));
+        return new ItemImport(ownerId, items.size(), accepted, rejected);
+    }
+
+    /**
+     * Inserts the accepted rows and passes results to {@code progress}: the rejected rows first, then the
+     * rows of each chunk after it commits. If {@code progress} throws, chunks already committed are kept
+     * and the rest are not inserted.
+     */
+    public ItemImportSummary execute(ItemImport itemImport, Consumer<List<ItemImportRowResult>> progress) {
+        int failed = itemImport.rejected().size();
+        if (failed > 0) {
+            progress.accept(itemImport.rejected());
+        }
+
+        List<ItemImport.Row> rows = itemImport.accepted();
+        int created = 0;
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<ItemImport.Row> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            List<ItemImportRowResult> results;
+            try {
+                results = transactionTemplate.execute(status -> insert(itemImport.ownerId(), chunk));
+                created += chunk.size();
+            } catch (DataAccessException e) {
+                log.warn("Не удалось импортировать {} вещей владельца {}: {}", chunk.size(), itemImport.ownerId(),
+                        e.getMessage());
+                results = chunk.stream()
+                        .map(row -> ItemImportRowResult.rejected(row.index(), "Не удалось сохранить вещь."))
+                        .toList();
+                failed += chunk.size();
+            }
+            progress.accept(results);
+        }
+        log.info("Импортировано {} из {} вещей владельца {}", created, itemImport.total(), itemImport.ownerId());
+        return new ItemImportSummary(itemImport.total(), created, failed);
+    }
+
+    private List<ItemImportRowResult> insert(Long ownerId, List<ItemImport.Row> chunk) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ITEM, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        ItemCreateDto item = chunk.get(i).item();
+                        statement.setString(1, item.getName());
+                        statement.setString(2, item.getDescription());
+                        statement.setBoolean(3, item.getAvailable());
+                        statement.setLong(4, ownerId);
+                        if (item.getRequestId() != null) {
+                            statement.setLong(5, item.getRequestId());
+                        } else {
+                            statement.setNull(5, Types.BIGINT);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<ItemImportRowResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ItemCreateDto item = chunk.get(i).item();
+            long id = ((Number) generated.get(i).values().iterator().next()).longValue();
+            searchEngine.onItemSaved(Item.builder()
+                    .id(id)
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(item.getAvailable())
+                    .build());
+            results.add(ItemImportRowResult.created(chunk.get(i).index(), id));
+        }
+        return results;
+    }
+
+    /**
+     * Applies the rules of {@link ItemCreateDto}; the server has no Bean Validation provider, since single
+     * items are validated by the gateway.
+     */
+    private static String validate(ItemCreateDto item) {
+        if (item == null) {
+            return "Вещь не указана.";
+        }
+        List<String> errors = new ArrayList<>();
+        if (item.getName() == null || item.getName().isBlank()) {
+            errors.add("Название не может быть пустым.");
+        } else if (item.getName().length() > MAX_NAME_LENGTH) {
+            errors.add("Название длиннее " + MAX_NAME_LENGTH + " символов.");
+        }
+        if (item.getDescription() == null || item.getDescription().isBlank()) {
+            errors.add("Описание не может быть пустым.");
+        } else if (item.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            errors.add("Описание длиннее " + MAX_DESCRIPTION_LENGTH + " символов.");
+        }
+        if (item.getAvailable() == null) {
+            errors.add("Статус доступности должен быть указан.");
+        }
+        return errors.isEmpty() ? null : String.join(" ", errors);
+    }
+}
@@ -1,15 +1,24 @@
 package ru.practicum.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.config.CacheRegions;
 import ru.practicum.item.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItemId(Long itemId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.ITEM_COMMENTS)})
+    // compares the foreign key only, so editing the item does not invalidate the cached result
+    @Query("SELECT c FROM Comment c WHERE c.item.id = :itemId")
+    List<Comment> findAllByItemId(@Param("itemId") Long itemId);
 
     List<Comment> findAllByItemIdIn(List<Long> itemIds);
 
@@ -5,8 +5,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.item.Item;
+import ru.practicum.item.search.SearchDocument;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
@@ -23,6 +25,10 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "or lower(i.description) like lower(concat('%', :searchText, '%')))")
     Page<Item> searchAvailableByText(String searchText, Pageable pageable);
 
+    @Query("SELECT new ru.practicum.item.search.SearchDocument(i.id, i.name, i.description) " +
+            "FROM Item i WHERE i.available = true")
+    List<SearchDocument> findAvailableSearchDocuments();
+
     List<Item> findAllByRequestId(Long requestId);
 
     List<Item> findAllByRequestIdIn(List<Long> requestIds);
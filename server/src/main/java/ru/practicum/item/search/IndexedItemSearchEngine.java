@@ -0,0 +1,105 @@
+package ru.practicum.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.config.routing.PrimaryReads;
+import ru.practicum.item.Item;
+import ru.practicum.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves item search from {@link ItemTextIndex}. Until the index has been loaded the LIKE query is
+ * used instead; saved items are re-indexed once their transaction commits. Opt-in with
+ * {@code shareit.item.search.engine=index}: terms match token prefixes and are ranked, which is not
+ * the substring semantics of the default LIKE engine.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "index")
+public class IndexedItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+    private final PrimaryReads primaryReads;
+    private final ItemTextIndex index = new ItemTextIndex();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild() {
+        ready = false;
+        try {
+            index.clear();
+            primaryReads.call(itemRepository::findAvailableSearchDocuments).forEach(index::put);
+            ready = true;
+            log.info("Поисковый индекс вещей построен: {} вещей", index.size());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось построить поисковый индекс вещей, используется поиск LIKE: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, int offset, int size) {
+        if (!ready || ItemTextIndex.tokenize(text).isEmpty()) {
+            return itemRepository.searchAvailableByText(text, PageRequest.of(offset / size, size)).getContent();
+        }
+        List<Long> ids = index.search(text, offset, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Item item = items.get(id);
+            if (item != null && Boolean.TRUE.equals(item.getAvailable())) {
+                ranked.add(item);
+            }
+        }
+        return ranked;
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        Long id = item.getId();
+        SearchDocument document = Boolean.TRUE.equals(item.getAvailable())
+                ? new SearchDocument(id, item.getName(), item.getDescription())
+                : null;
+        Runnable update = () -> {
+            if (document != null) {
+                index.put(document);
+            } else {
+                index.remove(id);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
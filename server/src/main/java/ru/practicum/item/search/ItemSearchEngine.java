@@ -0,0 +1,13 @@
+package ru.practicum.item.search;
+
+import ru.practicum.item.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<Item> search(String text, int offset, int size);
+
+    default void onItemSaved(Item item) {
+    }
+}
@@ -0,0 +1,236 @@
+package ru.practicum.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over item names and descriptions. Every query term must match the beginning of some
+ * token of the item; results are ranked by where and how well the terms matched (name before
+ * description, whole token before prefix), then by id.
+ */
+public class ItemTextIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char PREFIX_UPPER_BOUND = Character.MAX_VALUE;
+
+    private final NavigableMap<String, LongPostings> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.id());
+            String[] nameTokens = canonical(tokenize(document.name()));
+            String[] descriptionTokens = canonical(tokenize(document.description()));
+            for (String token : nameTokens) {
+                postings.computeIfAbsent(token, t -> new LongPostings()).add(document.id());
+            }
+            for (String token : descriptionTokens) {
+                postings.computeIfAbsent(token, t -> new LongPostings()).add(document.id());
+            }
+            documents.put(document.id(), new Document(nameTokens, descriptionTokens));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of matching items ordered by relevance, or an empty list when the text has no
+     * searchable terms.
+     */
+    public List<Long> search(String text, int offset, int limit) {
+        List<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (String term : terms) {
+                long[] matches = prefixMatches(term);
+                candidates = candidates == null ? matches : intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    return List.of();
+                }
+            }
+
+            List<Scored> scored = new ArrayList<>(candidates.length);
+            for (long id : candidates) {
+                scored.add(new Scored(id, documents.get(id).score(terms)));
+            }
+            scored.sort(Comparator.comparingDouble(Scored::score).reversed().thenComparingLong(Scored::id));
+
+            List<Long> page = new ArrayList<>(Math.min(limit, scored.size()));
+            for (int i = offset; i < scored.size() && page.size() < limit; i++) {
+                page.add(scored.get(i).id());
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] prefixMatches(String term) {
+        NavigableMap<String, LongPostings> matching = postings.subMap(term, true, term + PREFIX_UPPER_BOUND, true);
+        if (matching.size() == 1) {
+            LongPostings single = matching.firstEntry().getValue();
+            long[] ids = new long[single.size()];
+            single.copyTo(ids, 0);
+            return ids;
+        }
+        int total = 0;
+        for (LongPostings list : matching.values()) {
+            total += list.size();
+        }
+        long[] ids = new long[total];
+        int offset = 0;
+        for (LongPostings list : matching.values()) {
+            list.copyTo(ids, offset);
+            offset += list.size();
+        }
+        Arrays.sort(ids);
+        return distinct(ids);
+    }
+
+    private String[] canonical(List<String> tokens) {
+        String[] result = new String[tokens.size()];
+        for (int i = 0; i < result.length; i++) {
+            String token = tokens.get(i);
+            String existing = postings.ceilingKey(token);
+            result[i] = token.equals(existing) ? existing : token;
+        }
+        return result;
+    }
+
+    private void removeDocument(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        removePostings(id, previous.nameTokens());
+        removePostings(id, previous.descriptionTokens());
+    }
+
+    private void removePostings(Long id, String[] tokens) {
+        for (String token : tokens) {
+            LongPostings list = postings.get(token);
+            if (list != null) {
+                list.remove(id);
+                if (list.size() == 0) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static long[] distinct(long[] sorted) {
+        if (sorted.length < 2) {
+            return sorted;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private record Document(String[] nameTokens, String[] descriptionTokens) {
+
+        double score(List<String> terms) {
+            double score = 0;
+            for (String term : terms) {
+                score += Math.max(2 * match(nameTokens, term), match(descriptionTokens, term));
+            }
+            return score;
+        }
+
+        private static double match(String[] tokens, String term) {
+            double best = 0;
+            for (String token : tokens) {
+                if (token.equals(term)) {
+                    return 2;
+                }
+                if (token.startsWith(term)) {
+                    best = 1;
+                }
+            }
+            return best;
+        }
+    }
+
+    private record Scored(long id, double score) {
+    }
+}
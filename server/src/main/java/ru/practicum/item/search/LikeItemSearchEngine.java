@@ -0,0 +1,26 @@
+package ru.practicum.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.item.Item;
+import ru.practicum.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Default item search: the whole text is a case-insensitive substring of the name or description.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, int offset, int size) {
+        return itemRepository.searchAvailableByText(text, PageRequest.of(offset / size, size)).getContent();
+    }
+}
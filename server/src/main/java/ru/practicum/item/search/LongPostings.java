@@ -0,0 +1,44 @@
+package ru.practicum.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of item ids backed by a primitive array. Ids are allocated increasingly, so new items
+ * are almost always appended at the end.
+ */
+final class LongPostings {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    void copyTo(long[] target, int offset) {
+        System.arraycopy(ids, 0, target, offset, size);
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.item.search;
+
+public record SearchDocument(Long id, String name, String description) {
+}
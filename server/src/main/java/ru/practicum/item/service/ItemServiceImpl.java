@@ -6,24 +6,25 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.booking.dto.NearestBookingDto;
-import ru.practicum.booking.Booking;
 import ru.practicum.booking.BookingStatus;
 import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.nearest.ItemNearestBookings;
+import ru.practicum.booking.nearest.NearestBookingCache;
 import ru.practicum.item.dto.*;
 import ru.practicum.exception.*;
 import ru.practicum.item.Comment;
 import ru.practicum.item.Item;
 import ru.practicum.item.repository.CommentRepository;
 import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.search.ItemSearchEngine;
 import ru.practicum.request.ItemRequest;
 import ru.practicum.request.ItemRequestRepository;
 import ru.practicum.user.User;
 import ru.practicum.user.UserRepository;
+import ru.practicum.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.*;
 
@@ -34,16 +35,18 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceService userExistence;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final NearestBookingCache nearestBookingCache;
 
     @Override
     @Transactional
     public ItemResponseDto addItem(Long ownerId, ItemCreateDto createDto) {
-        User owner = findUserById(ownerId);
         Item item = ItemMapper.toItem(createDto);
-        item.setOwner(owner);
+        item.setOwner(userExistence.getReference(ownerId));
 
         if (createDto.getRequestId() != null) {
             ItemRequest request = itemRequestRepository.findById(createDto.getRequestId())
@@ -52,13 +55,14 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        searchEngine.onItemSaved(savedItem);
         return ItemMapper.toItemResponseDto(savedItem, null, null, Collections.emptyList());
     }
 
     @Override
     @Transactional
     public ItemResponseDto updateItem(Long ownerId, Long itemId, ItemUpdateDto updateDto) {
-        findUserById(ownerId);
+        userExistence.requireExists(ownerId);
         Item item = findItemById(itemId);
 
         if (!item.getOwner().getId().equals(ownerId)) {
@@ -70,14 +74,14 @@ public class ItemServiceImpl implements ItemService {
         Optional.ofNullable(updateDto.getName()).ifPresent(item::setName);
         Optional.ofNullable(updateDto.getDescription()).ifPresent(item::setDescription);
         Optional.ofNullable(updateDto.getAvailable()).ifPresent(item::setAvailable);
+        searchEngine.onItemSaved(item);
 
         List<CommentResponseDto> comments = commentRepository.findAllByItemId(itemId).stream()
                 .map(CommentMapper::toCommentResponseDto)
                 .collect(toList());
-        NearestBookingDto lastBooking = findLastBooking(itemId);
-        NearestBookingDto nextBooking = findNextBooking(itemId);
+        ItemNearestBookings nearest = nearestBookingCache.find(itemId, LocalDateTime.now());
 
-        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, comments);
+        return ItemMapper.toItemResponseDto(item, nearest.lastBooking(), nearest.nextBooking(), comments);
     }
 
     @Override
@@ -88,20 +92,18 @@ public class ItemServiceImpl implements ItemService {
                 .map(CommentMapper::toCommentResponseDto)
                 .collect(toList());
 
-        NearestBookingDto lastBooking = null;
-        NearestBookingDto nextBooking = null;
+        ItemNearestBookings nearest = ItemNearestBookings.EMPTY;
         if (item.getOwner().getId().equals(userId)) {
-            lastBooking = findLastBooking(itemId);
-            nextBooking = findNextBooking(itemId);
+            nearest = nearestBookingCache.find(itemId, LocalDateTime.now());
         }
 
-        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, comments);
+        return ItemMapper.toItemResponseDto(item, nearest.lastBooking(), nearest.nextBooking(), comments);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ItemResponseDto> getItemsByOwner(Long ownerId, int from, int size) {
-        findUserById(ownerId);
+        userExistence.requireExists(ownerId);
 
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("id").ascending());
         List<Item> ownerItems = itemRepository.findAllByOwnerId(ownerId, pageable).getContent();
@@ -117,25 +119,13 @@ public class ItemServiceImpl implements ItemService {
                 .collect(groupingBy(comment -> comment.getItem().getId(),
                         mapping(CommentMapper::toCommentResponseDto, toList())));
 
-        Map<Long, NearestBookingDto> lastBookingsMap = bookingRepository.findLastBookingsForItems(itemIds, now).stream()
-                .collect(Collectors.toMap(
-                        b -> b.getItem().getId(),
-                        this::toNearestBookingDto,
-                        (first, second) -> first
-                ));
-
-        Map<Long, NearestBookingDto> nextBookingsMap = bookingRepository.findNextBookingsForItems(itemIds, now).stream()
-                .collect(Collectors.toMap(
-                        b -> b.getItem().getId(),
-                        this::toNearestBookingDto,
-                        (first, second) -> first
-                ));
+        Map<Long, ItemNearestBookings> nearestMap = nearestBookingCache.findAll(itemIds, now);
 
         return ownerItems.stream()
                 .map(item -> ItemMapper.toItemResponseDto(
                         item,
-                        lastBookingsMap.get(item.getId()),
-                        nextBookingsMap.get(item.getId()),
+                        nearestMap.get(item.getId()).lastBooking(),
+                        nearestMap.get(item.getId()).nextBooking(),
                         commentsMap.getOrDefault(item.getId(), Collections.emptyList())
                 ))
                 .collect(toList());
@@ -164,8 +154,8 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size);
-        return itemRepository.searchAvailableByText(text, pageable).stream()
+        int offset = from > 0 ? from / size * size : 0;
+        return searchEngine.search(text, offset, size).stream()
                 .map(item -> ItemMapper.toItemResponseDto(item, null, null, Collections.emptyList()))
                 .collect(toList());
     }
@@ -179,19 +169,4 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Вещь не найдена."));
     }
-
-    private NearestBookingDto findLastBooking(Long itemId) {
-        return bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(itemId, LocalDateTime.now(), BookingStatus.APPROVED)
-                .map(this::toNearestBookingDto).orElse(null);
-    }
-
-    private NearestBookingDto findNextBooking(Long itemId) {
-        return bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(itemId, LocalDateTime.now(), BookingStatus.APPROVED)
-                .map(this::toNearestBookingDto).orElse(null);
-    }
-
-    private NearestBookingDto toNearestBookingDto(Booking booking) {
-        if (booking == null) return null;
-        return new NearestBookingDto(booking.getId(), booking.getBooker().getId());
-    }
-}
\ No newline at end of file
+}
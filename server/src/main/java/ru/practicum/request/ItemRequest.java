@@ -2,6 +2,9 @@ package ru.practicum.request;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.config.CacheRegions;
 import ru.practicum.item.Item;
 import ru.practicum.user.User;
 
@@ -17,6 +20,8 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ITEM_REQUESTS)
 @Table(name = "item_requests")
 public class ItemRequest {
 
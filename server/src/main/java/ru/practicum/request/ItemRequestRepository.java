@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
@@ -23,4 +24,7 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     @Query("SELECT DISTINCT r FROM ItemRequest r LEFT JOIN FETCH r.items WHERE r.id IN :requestIds")
     List<ItemRequest> findWithItemsByIdIn(List<Long> requestIds);
-}
\ No newline at end of file
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -8,7 +8,6 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.exception.ItemRequestNotFoundException;
-import ru.practicum.exception.UserNotFoundException;
 import ru.practicum.item.dto.ItemDto;
 import ru.practicum.item.dto.ItemMapper;
 import ru.practicum.item.repository.ItemRepository;
@@ -17,8 +16,7 @@ import ru.practicum.request.ItemRequestRepository;
 import ru.practicum.request.dto.ItemRequestCreateDto;
 import ru.practicum.request.dto.ItemRequestMapper;
 import ru.practicum.request.dto.ItemRequestResponseDto;
-import ru.practicum.user.User;
-import ru.practicum.user.UserRepository;
+import ru.practicum.user.service.UserExistenceService;
 
 import java.util.Collections;
 import java.util.List;
@@ -31,21 +29,20 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserExistenceService userExistence;
     private final ItemRepository itemRepository;
 
     @Override
     @Transactional
     public ItemRequestResponseDto create(Long requesterId, ItemRequestCreateDto createDto) {
-        User requester = findUserOrThrow(requesterId);
-        ItemRequest request = ItemRequestMapper.toItemRequest(createDto, requester);
+        ItemRequest request = ItemRequestMapper.toItemRequest(createDto, userExistence.getReference(requesterId));
         request = requestRepository.save(request);
         return ItemRequestMapper.toResponseDto(request, Collections.emptyList());
     }
 
     @Override
     public List<ItemRequestResponseDto> findOwn(Long requesterId, int from, int size) {
-        findUserOrThrow(requesterId);
+        userExistence.requireExists(requesterId);
 
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
 
@@ -56,7 +53,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDto> findAll(Long userId, int from, int size) {
-        findUserOrThrow(userId);
+        userExistence.requireExists(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
 
         Page<ItemRequest> requestsPage = requestRepository.findByRequesterIdNot(userId, pageable);
@@ -66,7 +63,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestResponseDto findById(Long userId, Long requestId) {
-        findUserOrThrow(userId);
+        userExistence.requireExists(userId);
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new ItemRequestNotFoundException("Запрос с ID " + requestId + " не найден."));
 
@@ -98,9 +95,4 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 ))
                 .collect(Collectors.toList());
     }
-
-    private User findUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь с ID " + userId + " не найден."));
-    }
 }
\ No newline at end of file
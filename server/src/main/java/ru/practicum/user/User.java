@@ -2,6 +2,9 @@ package ru.practicum.user;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.config.CacheRegions;
 import ru.practicum.item.Item;
 
 import java.util.ArrayList;
@@ -15,6 +18,8 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
 @Table(name = "users")
 public class User {
 
@@ -25,8 +25,12 @@ public class UserController {
 
     @GetMapping
     public ResponseEntity<List<UserResponseDto>> getAllUsers(
+            @RequestParam(required = false) List<Long> ids,
             @RequestParam(defaultValue = "0") int from,
             @RequestParam(defaultValue = "10") int size) {
+        if (ids != null) {
+            return ResponseEntity.ok(userService.getUsersByIds(ids));
+        }
         Pageable pageable = PageRequest.of(from / size, size);
         Page<UserResponseDto> userPage = userService.getAllUsers(pageable);
         return ResponseEntity.ok(userPage.getContent());
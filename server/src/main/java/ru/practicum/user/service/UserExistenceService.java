@@ -0,0 +1,109 @@
+package ru.practicum.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.config.routing.PrimaryReads;
+import ru.practicum.exception.UserNotFoundException;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers whether users exist without loading them. Only existing users are cached; ids not in the cache
+ * are checked with one id-only query against the primary, so a user created through another instance is
+ * found on its first request and a 404 is never served from the cache. Creating or deleting a user updates
+ * the cache once the transaction commits, and a lookup that raced with such a change is not stored.
+ */
+@Service
+public class UserExistenceService {
+
+    private final UserRepository userRepository;
+    private final PrimaryReads primaryReads;
+    private final Cache<Long, Boolean> known;
+    private final AtomicLong changes = new AtomicLong();
+
+    public UserExistenceService(UserRepository userRepository,
+                                PrimaryReads primaryReads,
+                                @Value("${shareit.users.existence-cache.max-size:100000}") long maxSize,
+                                @Value("${shareit.users.existence-cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.primaryReads = primaryReads;
+        this.known = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public void requireExists(Long userId) {
+        if (!findExisting(List.of(userId)).contains(userId)) {
+            throw new UserNotFoundException("Пользователь с ID " + userId + " не найден.");
+        }
+    }
+
+    /**
+     * Returns a reference to an existing user for use as an association, without loading the user.
+     */
+    public User getReference(Long userId) {
+        requireExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    public Set<Long> findExisting(Collection<Long> userIds) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (known.getIfPresent(userId) != null) {
+                existing.add(userId);
+            } else {
+                unknown.add(userId);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return existing;
+        }
+
+        long stamp = changes.get();
+        List<Long> found = primaryReads.call(() -> userRepository.findExistingIds(unknown));
+        existing.addAll(found);
+        for (Long userId : found) {
+            known.asMap().compute(userId, (id, previous) -> changes.get() == stamp ? Boolean.TRUE : previous);
+        }
+        return existing;
+    }
+
+    public void onUserCreated(Long userId) {
+        afterCommit(() -> known.put(userId, Boolean.TRUE));
+    }
+
+    public void onUserDeleted(Long userId) {
+        afterCommit(() -> known.invalidate(userId));
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable update = () -> {
+            changes.incrementAndGet();
+            change.run();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -6,11 +6,16 @@ import ru.practicum.user.dto.UserCreateDto;
 import ru.practicum.user.dto.UserResponseDto;
 import ru.practicum.user.dto.UserUpdateDto;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface UserService {
     Page<UserResponseDto> getAllUsers(Pageable pageable);
 
     UserResponseDto getUserById(Long userId);
 
+    List<UserResponseDto> getUsersByIds(Collection<Long> userIds);
+
     UserResponseDto createUser(UserCreateDto userDto);
 
     UserResponseDto updateUser(Long userId, UserUpdateDto userDto);
@@ -5,6 +5,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.config.SecondLevelCache;
 import ru.practicum.user.dto.UserCreateDto;
 import ru.practicum.user.dto.UserMapper;
 import ru.practicum.user.dto.UserResponseDto;
@@ -14,11 +16,18 @@ import ru.practicum.exception.EmailAlreadyExistsException;
 import ru.practicum.user.User;
 import ru.practicum.user.UserRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserExistenceService userExistence;
+    private final SecondLevelCache secondLevelCache;
+    private final BookingAvailabilityIndex availabilityIndex;
 
     @Override
     public Page<UserResponseDto> getAllUsers(Pageable pageable) {
@@ -34,14 +43,26 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> getUsersByIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findAllByIdInOrderById(userIds).stream()
+                .map(UserMapper::toUserResponseDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public UserResponseDto createUser(UserCreateDto userDto) {
         if (userRepository.existsByEmail(userDto.getEmail())) {
             throw new EmailAlreadyExistsException("Email " + userDto.getEmail() + " уже используется.");
         }
-        User user = UserMapper.toUser(userDto);
-        return UserMapper.toUserDto(userRepository.save(user));
+        User user = userRepository.save(UserMapper.toUser(userDto));
+        userExistence.onUserCreated(user.getId());
+        return UserMapper.toUserDto(user);
     }
 
     @Override
@@ -68,6 +89,9 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(Long userId) {
+        availabilityIndex.onUserDeleted(userId);
         userRepository.deleteById(userId);
+        userExistence.onUserDeleted(userId);
+        secondLevelCache.onUserDeleted();
     }
 }
\ No newline at end of file
@@ -42,11 +42,11 @@ CREATE TABLE IF NOT EXISTS bookings (
 
 -- Таблица комментариев
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    text TEXT NOT NULL,
-    item_id BIGINT NOT NULL,
-    author_id BIGINT NOT NULL,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    CONSTRAINT fk_comments_items FOREIGN KEY(item_id) REFERENCES items(id) ON DELETE CASCADE,
-    CONSTRAINT fk_comments_users FOREIGN KEY(author_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  text VARCHAR(2000) NOT NULL,
+  item_id BIGINT NOT NULL,
+  author_id BIGINT NOT NULL,
+  created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  CONSTRAINT fk_comments_items FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+  CONSTRAINT fk_comments_users FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
+);
@@ -0,0 +1,22 @@
+-- Листинги бронирований (BookingRepositoryImpl.findBookings): сортировка start DESC, id DESC.
+-- По вещи также ищутся пересечения при создании бронирования (findConflictingBookings).
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_id ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_id ON bookings (item_id, start_date DESC, id DESC);
+
+-- Ближайшие подтверждённые бронирования вещи (findNearestBookingMoments, findFirstByItemId...):
+-- id и booker_id включены, чтобы запрос читал только индекс.
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date, id, booker_id);
+
+-- Проверка завершённого бронирования перед отзывом (existsByBookerIdAndItemIdAndStatusAndEndBefore).
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_end ON bookings (booker_id, item_id, status, end_date);
+
+-- Вещи владельца (findAllByOwnerId, листинг бронирований владельца) и ответы на запросы.
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+-- Отзывы вещей (findAllByItemId, findAllByItemIdIn).
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+-- Свои запросы (findByRequesterIdOrderByCreatedDesc) и чужие запросы по дате (findByRequesterIdNot).
+CREATE INDEX IF NOT EXISTS idx_item_requests_requester_created ON item_requests (requester_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_item_requests_created ON item_requests (created_at DESC);
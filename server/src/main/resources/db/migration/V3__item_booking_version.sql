@@ -0,0 +1,4 @@
+-- Счётчик бронирований вещи (ItemBookingGuard): создание бронирования увеличивает его условным UPDATE,
+-- поэтому параллельные бронирования одной вещи на разных экземплярах сервера не пропускают друг друга.
+-- Колонка не отображается в сущности Item, и редактирование вещи её не затрагивает.
+ALTER TABLE items ADD COLUMN IF NOT EXISTS booking_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,161 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.availability.BookedInterval;
+import ru.practicum.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.config.routing.PrimaryReads;
+import ru.practicum.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingAvailabilityIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private BookingRepository bookingRepository;
+    private BookingAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        index = new BookingAvailabilityIndex(bookingRepository,
+                new PrimaryReads(false, Mockito.mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void findConflictingBookingIds_whenIndexIsCold_shouldFallBackToRepository() {
+        Booking stored = booking(7L, 1L, BASE, BASE.plusDays(2), BookingStatus.WAITING);
+        Mockito.when(bookingRepository.findConflictingBookings(ArgumentMatchers.eq(1L), ArgumentMatchers.anyList(),
+                        ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(stored));
+
+        assertFalse(index.isReady());
+        assertEquals(List.of(7L), index.findConflictingBookingIds(1L, BASE.plusDays(1), BASE.plusDays(3)));
+    }
+
+    @Test
+    void findConflictingBookingIds_whenIndexIsWarm_shouldAnswerFromMemory() {
+        Mockito.when(bookingRepository.findBookedIntervals(
+                        ArgumentMatchers.eq(BookingAvailabilityIndex.NON_BLOCKING_STATUSES), ArgumentMatchers.any()))
+                .thenReturn(List.of(
+                        new BookedInterval(1L, 1L, BASE, BASE.plusDays(1)),
+                        new BookedInterval(2L, 1L, BASE.plusDays(5), BASE.plusDays(10)),
+                        new BookedInterval(3L, 1L, BASE.plusDays(6), BASE.plusDays(7)),
+                        new BookedInterval(4L, 2L, BASE, BASE.plusDays(30))));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(), index.findConflictingBookingIds(1L, BASE.plusDays(1), BASE.plusDays(5)));
+        assertEquals(List.of(1L), index.findConflictingBookingIds(1L, BASE.minusDays(1), BASE.plusHours(1)));
+        assertEquals(List.of(3L, 2L), index.findConflictingBookingIds(1L, BASE.plusDays(6), BASE.plusDays(8)));
+        assertEquals(List.of(2L), index.findConflictingBookingIds(1L, BASE.plusDays(8), BASE.plusDays(20)));
+        assertFalse(index.hasConflicts(3L, BASE, BASE.plusDays(30)));
+        assertFalse(index.hasConflicts(1L, BASE.plusDays(1), BASE.plusDays(5)));
+        assertTrue(index.hasConflicts(1L, BASE.plusDays(8), BASE.plusDays(20)));
+        assertTrue(index.hasConflicts(1L, BASE.minusDays(1), BASE.plusHours(1)));
+        assertFalse(index.hasConflicts(1L, BASE.plusDays(10), BASE.plusDays(11)));
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findConflictingBookings(ArgumentMatchers.any(), ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.verify(bookingRepository, Mockito.never())
+                .existsConflictingBooking(ArgumentMatchers.any(), ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void onBookingSaved_shouldTrackCreatedAndRejectedBookings() {
+        Mockito.when(bookingRepository.findBookedIntervals(
+                        ArgumentMatchers.eq(BookingAvailabilityIndex.NON_BLOCKING_STATUSES), ArgumentMatchers.any()))
+                .thenReturn(List.of());
+        index.rebuild();
+
+        Booking booking = booking(10L, 5L, BASE, BASE.plusDays(2), BookingStatus.WAITING);
+        index.onBookingSaved(booking);
+        assertTrue(index.hasConflicts(5L, BASE.plusDays(1), BASE.plusDays(3)));
+
+        booking.setStatus(BookingStatus.REJECTED);
+        index.onBookingSaved(booking);
+        assertFalse(index.hasConflicts(5L, BASE.plusDays(1), BASE.plusDays(3)));
+    }
+
+    @Test
+    void rebuildAndWrites_shouldDropBookingsThatHaveEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        Mockito.when(bookingRepository.findBookedIntervals(
+                        ArgumentMatchers.eq(BookingAvailabilityIndex.NON_BLOCKING_STATUSES), ArgumentMatchers.any()))
+                .thenReturn(List.of(
+                        new BookedInterval(1L, 1L, now.minusDays(3), now.minusDays(2)),
+                        new BookedInterval(2L, 1L, now.minusDays(1), now.plusDays(1)),
+                        new BookedInterval(3L, 1L, now.plusDays(5), now.plusDays(6))));
+        index.rebuild();
+
+        ArgumentCaptor<LocalDateTime> loadedAfter = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.verify(bookingRepository).findBookedIntervals(ArgumentMatchers.anyList(), loadedAfter.capture());
+        assertFalse(loadedAfter.getValue().isBefore(now));
+        assertEquals(List.of(1L), index.findConflictingBookingIds(1L, now.minusDays(4), now.minusDays(2)));
+
+        index.onBookingSaved(booking(4L, 1L, now.plusDays(2), now.plusDays(3), BookingStatus.WAITING));
+
+        assertEquals(List.of(), index.findConflictingBookingIds(1L, now.minusDays(4), now.minusDays(2)));
+        assertEquals(List.of(3L, 4L, 2L), index.findConflictingBookingIds(1L, now.minusHours(1), now.plusDays(10)));
+    }
+
+    @Test
+    void onBookingSaved_insideTransaction_shouldStayInvisibleUntilCommit() {
+        Mockito.when(bookingRepository.findBookedIntervals(
+                        ArgumentMatchers.eq(BookingAvailabilityIndex.NON_BLOCKING_STATUSES), ArgumentMatchers.any()))
+                .thenReturn(List.of());
+        index.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.onBookingSaved(booking(10L, 5L, BASE, BASE.plusDays(2), BookingStatus.WAITING));
+            assertFalse(index.hasConflicts(5L, BASE.plusDays(1), BASE.plusDays(3)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(index.hasConflicts(5L, BASE.plusDays(1), BASE.plusDays(3)));
+    }
+
+    @Test
+    void onUserDeleted_shouldDropBookingsRemovedWithTheUser() {
+        Mockito.when(bookingRepository.findBookedIntervals(
+                        ArgumentMatchers.eq(BookingAvailabilityIndex.NON_BLOCKING_STATUSES), ArgumentMatchers.any()))
+                .thenReturn(List.of(
+                        new BookedInterval(1L, 1L, BASE, BASE.plusDays(2)),
+                        new BookedInterval(2L, 1L, BASE.plusDays(5), BASE.plusDays(6))));
+        Mockito.when(bookingRepository.findBookedIntervalsOfUser(ArgumentMatchers.eq(3L),
+                        ArgumentMatchers.eq(BookingAvailabilityIndex.NON_BLOCKING_STATUSES), ArgumentMatchers.any()))
+                .thenReturn(List.of(new BookedInterval(1L, 1L, BASE, BASE.plusDays(2))));
+        index.rebuild();
+
+        index.onUserDeleted(3L);
+
+        assertEquals(List.of(2L), index.findConflictingBookingIds(1L, BASE, BASE.plusDays(10)));
+    }
+
+    private static Booking booking(Long id, Long itemId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+}
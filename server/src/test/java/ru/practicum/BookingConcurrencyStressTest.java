@@ -0,0 +1,138 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.dto.BookingRequestDto;
+import ru.practicum.booking.service.BookingService;
+import ru.practicum.exception.BookingConflictException;
+import ru.practicum.item.Item;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingConcurrencyStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingConcurrencyStressTest.class);
+    private static final int THREADS = 32;
+    private static final int REQUESTS = 2000;
+    private static final int SLOTS = 100;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void createBooking_whenManyRequestsHitOneItem_shouldAcceptOneBookingPerSlot() throws Exception {
+        User owner = userRepository.save(User.builder().name("Owner").email("stress-owner-one@mail.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("stress-booker-one@mail.com").build());
+        Item item = itemRepository.save(Item.builder().name("Drill").description("Popular drill").available(true).owner(owner).build());
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+
+        Result result = run("one item", i -> {
+            LocalDateTime start = base.plusDays(i % SLOTS);
+            return new BookingRequestDto(item.getId(), start, start.plusHours(20));
+        }, booker.getId());
+
+        assertEquals(SLOTS, result.accepted());
+        assertEquals(REQUESTS - SLOTS, result.conflicts());
+        assertNoOverlaps(item.getId());
+    }
+
+    @Test
+    void createBooking_whenRequestsAreSpreadOverManyItems_shouldAcceptAll() throws Exception {
+        User owner = userRepository.save(User.builder().name("Owner").email("stress-owner-many@mail.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("stress-booker-many@mail.com").build());
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            items.add(itemRepository.save(Item.builder().name("Item " + i).description("Item " + i).available(true).owner(owner).build()));
+        }
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+
+        Result result = run("many items", i -> {
+            LocalDateTime start = base.plusDays(i / SLOTS);
+            return new BookingRequestDto(items.get(i % SLOTS).getId(), start, start.plusHours(20));
+        }, booker.getId());
+
+        assertEquals(REQUESTS, result.accepted());
+        assertEquals(0, result.conflicts());
+    }
+
+    private Result run(String scenario, RequestFactory requests, Long bookerId) throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            BookingRequestDto request = requests.create(i);
+            tasks.add(() -> {
+                try {
+                    bookingService.createBooking(bookerId, request);
+                    accepted.incrementAndGet();
+                } catch (BookingConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startedAt = System.nanoTime();
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        log.info("Stress [{}]: {} requests on {} threads in {} s ({} req/s), accepted={}, conflicts={}",
+                scenario, REQUESTS, THREADS, String.format("%.2f", seconds), String.format("%.0f", REQUESTS / seconds),
+                accepted.get(), conflicts.get());
+        return new Result(accepted.get(), conflicts.get());
+    }
+
+    private void assertNoOverlaps(Long itemId) {
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(b -> b.getItem().getId().equals(itemId))
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.toList());
+        for (int i = 1; i < bookings.size(); i++) {
+            assertFalse(bookings.get(i).getStart().isBefore(bookings.get(i - 1).getEnd()));
+        }
+    }
+
+    private interface RequestFactory {
+        BookingRequestDto create(int index);
+    }
+
+    private record Result(int accepted, int conflicts) {
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -11,14 +12,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.booking.BookingController;
 import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingRequestDto;
 import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.BookingSlice;
 import ru.practicum.booking.dto.BookingState;
 import ru.practicum.booking.service.BookingService;
+import ru.practicum.exception.UserNotFoundException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -124,4 +129,62 @@ class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.name", Matchers.is("book")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsForUser_whenCursorModeRequested_shouldReturnNextCursorHeader() throws Exception {
+        BookingCursor next = BookingCursor.of(bookingResponseDto);
+        Mockito.when(bookingService.getBookingsForUser(2L, BookingState.ALL, (BookingCursor) null, 1))
+                .thenReturn(new BookingSlice(List.of(bookingResponseDto), next));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings")
+                        .header(USER_ID_HEADER, 2L)
+                        .param("size", "1")
+                        .param("after", ""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("X-Next-Cursor", next.toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)));
+    }
+
+    @Test
+    void getBookingsForOwner_whenCursorIsMalformed_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("size", "10")
+                        .param("after", "not-a-cursor"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void exportBookingsForOwner_shouldWriteOneBookingPerLine() throws Exception {
+        Mockito.when(bookingService.exportBookingsForOwner(1L, BookingState.PAST))
+                .thenReturn(consumer -> {
+                    consumer.accept(bookingResponseDto);
+                    consumer.accept(bookingResponseDto);
+                    return 2;
+                });
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("state", "PAST"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals(1L, objectMapper.readValue(lines[1], BookingResponseDto.class).getId());
+    }
+
+    @Test
+    void exportBookingsForOwner_whenOwnerIsUnknown_shouldReturnNotFound() throws Exception {
+        Mockito.when(bookingService.exportBookingsForOwner(99L, BookingState.ALL))
+                .thenThrow(new UserNotFoundException("Пользователь с ID 99 не найден."));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, 99L))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.dto.BookingCursor;
+import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.BookingSlice;
+import ru.practicum.booking.dto.BookingState;
+import ru.practicum.booking.service.BookingService;
+import ru.practicum.item.Item;
+import ru.practicum.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Transactional
+class BookingListingProjectionTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = User.builder().name("Owner").email("projection-owner@mail.com").build();
+        booker = User.builder().name("Booker").email("projection-booker@mail.com").build();
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        LocalDateTime now = LocalDateTime.now();
+        BookingStatus[] statuses = {BookingStatus.WAITING, BookingStatus.APPROVED, BookingStatus.REJECTED};
+        for (int i = 0; i < 12; i++) {
+            Item item = Item.builder().name("Item " + i).description("Item " + i).available(true).owner(owner).build();
+            entityManager.persist(item);
+            LocalDateTime start = now.plusDays(i - 6);
+            entityManager.persist(Booking.builder().start(start).end(start.plusDays(2))
+                    .item(item).booker(booker).status(statuses[i % statuses.length]).build());
+        }
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void getBookingsForOwner_shouldIssueOneSelectBesidesUserLookup(BookingState state) {
+        List<BookingResponseDto> bookings = measure(() -> bookingService.getBookingsForOwner(owner.getId(), state, 0, 10));
+
+        assertListingStatements(2);
+        bookings.forEach(b -> assertNotNull(b.getItem().getName()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void getBookingsForUser_shouldIssueOneSelectBesidesUserLookup(BookingState state) {
+        List<BookingResponseDto> bookings = measure(() -> bookingService.getBookingsForUser(booker.getId(), state, 0, 10));
+
+        assertListingStatements(2);
+        bookings.forEach(b -> assertEquals("Booker", b.getBooker().getName()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void getBookingsForOwner_whenPagingByCursor_shouldIssueOneSelectBesidesUserLookup(BookingState state) {
+        BookingSlice first = bookingService.getBookingsForOwner(owner.getId(), state, (BookingCursor) null, 2);
+        Assumptions.assumeTrue(first.getNextCursor() != null);
+        measure(() -> bookingService.getBookingsForOwner(owner.getId(), state, first.getNextCursor(), 2).getBookings());
+
+        // the owner's existence is already cached by the first page
+        assertListingStatements(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void exportBookingsForOwner_shouldStreamWholeListingFromOneSelect(BookingState state) {
+        List<BookingResponseDto> page = bookingService.getBookingsForOwner(owner.getId(), state, 0, 100);
+        List<BookingResponseDto> exported = new ArrayList<>();
+
+        long count = measure(() -> {
+            bookingService.exportBookingsForOwner(owner.getId(), state).writeTo(exported::add);
+            return exported;
+        }).size();
+
+        assertListingStatements(1);
+        assertEquals(page.size(), count);
+        assertEquals(page.stream().map(BookingResponseDto::getId).toList(),
+                exported.stream().map(BookingResponseDto::getId).toList());
+    }
+
+    private List<BookingResponseDto> measure(ListingCall call) {
+        entityManager.clear();
+        statistics.clear();
+        return call.run();
+    }
+
+    private void assertListingStatements(int expected) {
+        // an id-only existence check for an uncached user, then the listing itself; no entity is loaded
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private interface ListingCall {
+        List<BookingResponseDto> run();
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingQuery;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingRole;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.dto.BookingMapper;
+import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.BookingState;
+import ru.practicum.item.Item;
+import ru.practicum.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements behind one page of a booking listing: the former derived {@code Page} query
+ * (page query, COUNT, then lazy loads of item and booker per row) against {@code findBookings}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Transactional
+class BookingListingQueryCountBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingListingQueryCountBenchmarkTest.class);
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User firstBooker;
+
+    @BeforeEach
+    void setUp() {
+        owner = User.builder().name("Owner").email("bench-owner@mail.com").build();
+        entityManager.persist(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User booker = User.builder().name("Booker " + i).email("bench-booker" + i + "@mail.com").build();
+            Item item = Item.builder().name("Item " + i).description("Item " + i).available(true).owner(owner).build();
+            entityManager.persist(booker);
+            entityManager.persist(item);
+            entityManager.persist(Booking.builder().start(start.plusDays(i)).end(start.plusDays(i).plusHours(1))
+                    .item(item).booker(booker).status(BookingStatus.WAITING).build());
+            if (i == 0) {
+                firstBooker = booker;
+            }
+        }
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void ownerListing_shouldIssueOneStatementInsteadOfPagePlusCountPlusLazyLoads() {
+        long before = countStatements(() -> legacyOwnerListing(owner.getId()));
+        long after = countStatements(() -> engineListing(BookingRole.OWNER, owner.getId()));
+
+        log.info("Owner listing, page of {}: before={} statements, after={} statements", PAGE_SIZE, before, after);
+        assertEquals(1, after);
+        assertTrue(before > after);
+    }
+
+    @Test
+    void bookerListing_shouldIssueOneStatement() {
+        long before = countStatements(() -> legacyBookerListing(firstBooker.getId()));
+        long after = countStatements(() -> engineListing(BookingRole.BOOKER, firstBooker.getId()));
+
+        log.info("Booker listing: before={} statements, after={} statements", before, after);
+        assertEquals(1, after);
+        assertTrue(before > after);
+    }
+
+    private long countStatements(Supplier<List<BookingResponseDto>> listing) {
+        entityManager.clear();
+        statistics.clear();
+        List<BookingResponseDto> result = listing.get();
+        assertFalse(result.isEmpty());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<BookingResponseDto> engineListing(BookingRole role, Long userId) {
+        BookingQuery query = BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(BookingState.ALL)
+                .now(LocalDateTime.now())
+                .size(PAGE_SIZE)
+                .build();
+        return bookingRepository.findBookings(query).getContent();
+    }
+
+    private List<BookingResponseDto> legacyOwnerListing(Long ownerId) {
+        List<Booking> page = entityManager.createQuery(
+                        "SELECT b FROM Booking b WHERE b.item.owner.id = :userId ORDER BY b.start DESC", Booking.class)
+                .setParameter("userId", ownerId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        entityManager.createQuery("SELECT count(b) FROM Booking b WHERE b.item.owner.id = :userId")
+                .setParameter("userId", ownerId)
+                .getSingleResult();
+        return page.stream().map(BookingMapper::toBookingResponseDto).collect(Collectors.toList());
+    }
+
+    private List<BookingResponseDto> legacyBookerListing(Long bookerId) {
+        List<Booking> page = entityManager.createQuery(
+                        "SELECT b FROM Booking b WHERE b.booker.id = :userId ORDER BY b.start DESC", Booking.class)
+                .setParameter("userId", bookerId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        return page.stream().map(BookingMapper::toBookingResponseDto).collect(Collectors.toList());
+    }
+}
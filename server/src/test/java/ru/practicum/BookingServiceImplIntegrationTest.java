@@ -9,16 +9,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.booking.dto.BookingRequestDto;
 import ru.practicum.booking.dto.BookingResponseDto;
+import ru.practicum.booking.dto.BookingSlice;
 import ru.practicum.booking.dto.BookingState;
 import ru.practicum.booking.Booking;
 import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.booking.service.BookingService;
+import ru.practicum.exception.BookingConflictException;
 import ru.practicum.exception.BookingSelfOwnershipException;
 import ru.practicum.item.Item;
 import ru.practicum.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @Transactional
@@ -27,6 +32,9 @@ class BookingServiceImplIntegrationTest {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -82,6 +90,54 @@ class BookingServiceImplIntegrationTest {
         });
     }
 
+    @Test
+    void createBooking_whenOverlappingBookingWasWrittenElsewhere_shouldThrowConflict() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        // A row committed by another server instance: this instance's availability index has never seen it.
+        entityManager.createNativeQuery("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, 'APPROVED')")
+                .setParameter(1, start)
+                .setParameter(2, start.plusDays(2))
+                .setParameter(3, item.getId())
+                .setParameter(4, booker.getId())
+                .executeUpdate();
+        BookingRequestDto requestDto = new BookingRequestDto(item.getId(), start.plusDays(1), start.plusDays(3));
+
+        Assertions.assertThrows(BookingConflictException.class,
+                () -> bookingService.createBooking(booker.getId(), requestDto));
+    }
+
+    @Test
+    void createBooking_whenIndexHoldsBookingThatIsGone_shouldSaveBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking phantom = Booking.builder().id(Long.MAX_VALUE).item(item).booker(booker)
+                .start(start).end(start.plusDays(2)).status(BookingStatus.APPROVED).build();
+        CompletableFuture.runAsync(() -> availabilityIndex.onBookingSaved(phantom)).join();
+        BookingRequestDto requestDto = new BookingRequestDto(item.getId(), start.plusDays(1), start.plusDays(3));
+
+        try {
+            Assertions.assertTrue(availabilityIndex.hasConflicts(item.getId(), start.plusDays(1), start.plusDays(3)));
+            Assertions.assertNotNull(bookingService.createBooking(booker.getId(), requestDto).getId());
+        } finally {
+            phantom.setStatus(BookingStatus.CANCELED);
+            CompletableFuture.runAsync(() -> availabilityIndex.onBookingSaved(phantom)).join();
+        }
+    }
+
+    @Test
+    void createBooking_shouldAdvanceItemBookingVersion() {
+        BookingRequestDto requestDto = new BookingRequestDto(item.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        bookingService.createBooking(booker.getId(), requestDto);
+        entityManager.flush();
+
+        Assertions.assertEquals(1L, ((Number) entityManager
+                .createNativeQuery("SELECT booking_version FROM items WHERE id = ?")
+                .setParameter(1, item.getId())
+                .getSingleResult()).longValue());
+    }
+
     @Test
     void approveBooking_whenUserIsOwner_shouldChangeStatusToApproved() {
         Booking booking = Booking.builder()
@@ -149,4 +205,31 @@ class BookingServiceImplIntegrationTest {
         Assertions.assertEquals(waitingBooking.getId(), ownerBookings.get(0).getId());
         Assertions.assertEquals(BookingStatus.WAITING, ownerBookings.get(0).getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsForOwner_whenPagingByCursor_shouldWalkAllBookingsInOrder() {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Booking.builder().start(start.plusDays(i)).end(start.plusDays(i).plusHours(1))
+                    .item(item).booker(booker).status(BookingStatus.WAITING).build());
+        }
+        entityManager.persist(Booking.builder().start(start.plusDays(2)).end(start.plusDays(2).plusHours(1))
+                .item(item).booker(booker).status(BookingStatus.REJECTED).build());
+        entityManager.flush();
+
+        BookingSlice first = bookingService.getBookingsForOwner(owner.getId(), BookingState.ALL, null, 4);
+        BookingSlice second = bookingService.getBookingsForOwner(owner.getId(), BookingState.ALL, first.getNextCursor(), 4);
+
+        Assertions.assertEquals(4, first.getBookings().size());
+        Assertions.assertNotNull(first.getNextCursor());
+        Assertions.assertEquals(2, second.getBookings().size());
+        Assertions.assertNull(second.getNextCursor());
+        Assertions.assertEquals(start.plusDays(4), first.getBookings().get(0).getStart());
+        Assertions.assertEquals(start, second.getBookings().get(1).getStart());
+        Assertions.assertTrue(second.getBookings().stream()
+                .noneMatch(b -> first.getBookings().stream().anyMatch(f -> f.getId().equals(b.getId()))));
+
+        BookingSlice waiting = bookingService.getBookingsForUser(booker.getId(), BookingState.WAITING, null, 10);
+        Assertions.assertEquals(5, waiting.getBookings().size());
+    }
+}
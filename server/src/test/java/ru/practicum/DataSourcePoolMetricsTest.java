@@ -0,0 +1,30 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class DataSourcePoolMetricsTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hikariPool_shouldPublishActiveIdlePendingAndAcquireMetrics() {
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.idle").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.max").gauge());
+        assertTrue(meterRegistry.find("hikaricp.connections.acquire").timer().count() > 0);
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.item.ItemController;
+import ru.practicum.item.batch.ItemImporter;
 import ru.practicum.item.dto.*;
 import ru.practicum.item.service.ItemService;
 
@@ -33,6 +34,9 @@ public class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImporter itemImporter;
+
     private ItemResponseDto itemResponseDto;
     private ItemCreateDto itemCreateDto;
     private ItemUpdateDto itemUpdateDto;
@@ -0,0 +1,134 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.exception.UserNotFoundException;
+import ru.practicum.item.Item;
+import ru.practicum.item.batch.ItemImport;
+import ru.practicum.item.batch.ItemImportRowResult;
+import ru.practicum.item.batch.ItemImportSummary;
+import ru.practicum.item.batch.ItemImporter;
+import ru.practicum.item.dto.ItemCreateDto;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.search.ItemSearchEngine;
+import ru.practicum.request.ItemRequest;
+import ru.practicum.request.ItemRequestRepository;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+import ru.practicum.user.dto.UserCreateDto;
+import ru.practicum.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.items.import.chunk-size=2")
+class ItemImporterIntegrationTest {
+
+    @Autowired
+    private ItemImporter itemImporter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemSearchEngine searchEngine;
+
+    private Long ownerId;
+    private ItemRequest request;
+    private final List<List<ItemImportRowResult>> progress = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserCreateDto("Owner", "import-owner@mail.com")).getId();
+        request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requester(userRepository.getReferenceById(ownerId))
+                .created(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll(itemRepository.findAll().stream()
+                .filter(item -> item.getOwner().getId().equals(ownerId))
+                .toList());
+        itemRequestRepository.findById(request.getId()).ifPresent(itemRequestRepository::delete);
+        userService.deleteUser(ownerId);
+    }
+
+    @Test
+    void execute_shouldInsertValidRowsInChunksAndReportRejectedRows() {
+        List<ItemCreateDto> items = List.of(
+                new ItemCreateDto("Дрель", "Ударная дрель", true, request.getId()),
+                new ItemCreateDto("", "Без названия", true, null),
+                new ItemCreateDto("Пила", "Ножовка", false, null),
+                new ItemCreateDto("Молоток", "Слесарный", true, 999_999L),
+                new ItemCreateDto("Отвёртка", "Крестовая", true, null));
+
+        ItemImportSummary summary = itemImporter.execute(itemImporter.prepare(ownerId, items), progress::add);
+
+        assertEquals(new ItemImportSummary(5, 3, 2), summary);
+        assertEquals(3, progress.size());
+        assertEquals(List.of(1, 3), indexes(progress.get(0)));
+        assertTrue(progress.get(0).stream().allMatch(result -> result.id() == null && result.error() != null));
+        assertEquals(List.of(0, 2), indexes(progress.get(1)));
+        assertEquals(List.of(4), indexes(progress.get(2)));
+
+        Long drillId = progress.get(1).get(0).id();
+        Item drill = itemRepository.findById(drillId).orElseThrow();
+        assertEquals("Дрель", drill.getName());
+        assertEquals(request.getId(), drill.getRequest().getId());
+        assertEquals(List.of(drillId), searchEngine.search("дрель", 0, 10).stream().map(Item::getId).toList());
+        assertTrue(searchEngine.search("ножовка", 0, 10).isEmpty());
+    }
+
+    @Test
+    void execute_shouldFailOnlyTheChunkThatCannotBeSaved() {
+        List<ItemCreateDto> items = List.of(
+                new ItemCreateDto("Дрель", "Ударная дрель", true, null),
+                new ItemCreateDto("Пила", "Ножовка", true, null),
+                new ItemCreateDto("Молоток", "Слесарный", true, request.getId()),
+                new ItemCreateDto("Отвёртка", "Крестовая", true, null));
+        ItemImport itemImport = itemImporter.prepare(ownerId, items);
+        itemRequestRepository.delete(request);
+
+        ItemImportSummary summary = itemImporter.execute(itemImport, progress::add);
+
+        assertEquals(new ItemImportSummary(4, 2, 2), summary);
+        assertTrue(progress.get(0).stream().allMatch(result -> result.id() != null));
+        assertTrue(progress.get(1).stream().allMatch(result -> result.error() != null));
+        assertEquals(2, itemRepository.findAll().stream()
+                .filter(item -> item.getOwner().getId().equals(ownerId))
+                .count());
+    }
+
+    @Test
+    void prepare_shouldRejectUnknownOwnerAndOversizedImport() {
+        List<ItemCreateDto> oneItem = List.of(new ItemCreateDto("Дрель", "Ударная дрель", true, null));
+        List<ItemCreateDto> tooMany = Collections.nCopies(ItemImporter.MAX_ITEMS + 1, oneItem.get(0));
+
+        assertThrows(UserNotFoundException.class, () -> itemImporter.prepare(999_999L, oneItem));
+        assertThrows(IllegalArgumentException.class, () -> itemImporter.prepare(ownerId, tooMany));
+    }
+
+    private static List<Integer> indexes(List<ItemImportRowResult> results) {
+        return results.stream().map(ItemImportRowResult::index).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.search.IndexedItemSearchEngine;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares p50/p99 latency of the LIKE query and the in-memory index for item search.
+ * Run with {@code mvn test -Dtest=ItemSearchBenchmarkTest -Dbenchmarks=true
+ * [-Dsearch.benchmark.sizes=10000,100000,1000000]}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.jpa.show-sql=false", "shareit.item.search.engine=index"})
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchBenchmarkTest.class);
+    private static final String[] WORDS = {"дрель", "отвертка", "пила", "молоток", "лестница", "палатка", "велосипед",
+            "самокат", "удочка", "фонарь", "мангал", "коврик", "рюкзак", "гитара", "проектор", "камера", "штатив",
+            "насос", "тележка", "перфоратор", "шуруповерт", "лобзик", "рубанок", "стремянка", "генератор"};
+    private static final String[] ADJECTIVES = {"новый", "старый", "аккумуляторный", "большой", "маленький",
+            "складной", "профессиональный", "детский", "туристический", "электрический"};
+    private static final String[] QUERIES = {"дрель", "аккум", "палатка туристическая", "складной", "гитара", "шуруп",
+            "проектор", "насос электрический", "штатив", "мангал"};
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IndexedItemSearchEngine searchEngine;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM items");
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void compareSearchLatency() {
+        int[] sizes = Arrays.stream(System.getProperty("search.benchmark.sizes", "10000,100000,1000000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        User owner = userRepository.save(User.builder().name("Owner").email("search-bench@mail.com").build());
+        int loaded = 0;
+        for (int size : sizes) {
+            loaded = seed(owner.getId(), loaded, size);
+            searchEngine.rebuild();
+
+            long[] like = measure(q -> itemRepository.searchAvailableByText(q, PageRequest.of(0, 10)).getContent());
+            long[] indexed = measure(q -> searchEngine.search(q, 0, 10));
+            log.info("Search over {} items: LIKE p50={} us p99={} us | index p50={} us p99={} us",
+                    size, like[0], like[1], indexed[0], indexed[1]);
+        }
+    }
+
+    private int seed(Long ownerId, int from, int to) {
+        Random random = new Random(from);
+        int batch = 5_000;
+        for (int start = from; start < to; start += batch) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = start; i < Math.min(start + batch, to); i++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+                rows.add(new Object[]{adjective + " " + word + " " + i,
+                        "Сдаю " + word + ", " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + ", состояние хорошее",
+                        random.nextInt(10) > 0, ownerId});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO items (name, description, is_available, owner_id) VALUES (?, ?, ?, ?)", rows);
+        }
+        return to;
+    }
+
+    private long[] measure(Consumer<String> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.accept(QUERIES[i % QUERIES.length]);
+        }
+        long[] micros = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            search.accept(QUERIES[i % QUERIES.length]);
+            micros[i] = (System.nanoTime() - started) / 1_000;
+        }
+        Arrays.sort(micros);
+        return new long[]{micros[ITERATIONS / 2], micros[ITERATIONS * 99 / 100]};
+    }
+}
@@ -11,12 +11,16 @@ import ru.practicum.booking.BookingStatus;
 import ru.practicum.item.Comment;
 import ru.practicum.item.Item;
 import ru.practicum.item.dto.ItemResponseDto;
+import ru.practicum.item.search.ItemSearchEngine;
+import ru.practicum.item.search.LikeItemSearchEngine;
 import ru.practicum.item.service.ItemService;
 import ru.practicum.user.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +31,9 @@ class ItemServiceImplIntegrationTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ItemSearchEngine searchEngine;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -108,4 +115,35 @@ class ItemServiceImplIntegrationTest {
         assertNotNull(item2Dto.getComments());
         assertTrue(item2Dto.getComments().isEmpty(), "У item2 не должно быть комментариев");
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchEngine_byDefault_shouldBeLikeQuery() {
+        assertInstanceOf(LikeItemSearchEngine.class, searchEngine);
+    }
+
+    @Test
+    void searchAvailableItems_shouldMatchWholeTextAsSubstringOfNameOrDescription() {
+        Item drill = Item.builder().name("Перфоратор ZX1").description("Мощный перфоратор в кейсе")
+                .available(true).owner(owner).build();
+        Item screwdriver = Item.builder().name("Шуруповерт ZX2").description("Аккумуляторный")
+                .available(true).owner(owner).build();
+        Item broken = Item.builder().name("Перфоратор ZX3").description("Сломан")
+                .available(false).owner(owner).build();
+        entityManager.persist(drill);
+        entityManager.persist(screwdriver);
+        entityManager.persist(broken);
+        entityManager.flush();
+
+        assertEquals(Set.of(drill.getId()), searchIds("ерфоратор zx"));
+        assertEquals(Set.of(drill.getId()), searchIds("В КЕЙСЕ"));
+        assertEquals(Set.of(screwdriver.getId()), searchIds("zx2"));
+        assertEquals(Set.of(drill.getId(), screwdriver.getId()), searchIds("zx"));
+        assertEquals(Set.of(), searchIds("zx1 перфоратор"), "Слова запроса не ищутся по отдельности");
+    }
+
+    private Set<Long> searchIds(String text) {
+        return itemService.searchAvailableItems(text, 0, 10).stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.item.search.ItemTextIndex;
+import ru.practicum.item.search.SearchDocument;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemTextIndexTest {
+
+    private ItemTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemTextIndex();
+        index.put(new SearchDocument(1L, "Дрель", "Простая дрель"));
+        index.put(new SearchDocument(2L, "Отвертка", "Аккумуляторная отвертка"));
+        index.put(new SearchDocument(3L, "Набор инструментов", "Дрель и отвертка в кейсе"));
+        index.put(new SearchDocument(4L, "Дрель-шуруповерт", "Аккумуляторная"));
+    }
+
+    @Test
+    void search_shouldMatchTokenPrefixesIgnoringCase() {
+        assertEquals(List.of(1L, 4L, 3L), index.search("дРЕл", 0, 10));
+        assertEquals(List.of(2L, 4L), index.search("аккумуляторная", 0, 10));
+        assertEquals(List.of(), index.search("пила", 0, 10));
+    }
+
+    @Test
+    void search_shouldRankNameMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(2L, 3L), index.search("отвертка", 0, 10));
+        assertEquals(List.of(4L), index.search("дрель аккум", 0, 10));
+    }
+
+    @Test
+    void search_shouldApplyOffsetAndLimit() {
+        assertEquals(List.of(4L), index.search("дрель", 1, 1));
+        assertEquals(List.of(), index.search("дрель", 10, 5));
+    }
+
+    @Test
+    void putAndRemove_shouldUpdateIndexIncrementally() {
+        index.put(new SearchDocument(1L, "Перфоратор", "Мощный"));
+        assertEquals(List.of(4L, 3L), index.search("дрель", 0, 10));
+        assertEquals(List.of(1L), index.search("перф", 0, 10));
+
+        index.remove(4L);
+        assertEquals(List.of(3L), index.search("дрель", 0, 10));
+        assertEquals(3, index.size());
+    }
+}
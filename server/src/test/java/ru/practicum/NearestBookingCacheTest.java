@@ -0,0 +1,121 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.nearest.BookingMoment;
+import ru.practicum.booking.nearest.ItemNearestBookings;
+import ru.practicum.booking.nearest.NearestBookingCache;
+import ru.practicum.config.routing.PrimaryReads;
+import ru.practicum.item.Item;
+import ru.practicum.user.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearestBookingCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    private BookingRepository bookingRepository;
+    private NearestBookingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        cache = new NearestBookingCache(bookingRepository,
+                new PrimaryReads(false, Mockito.mock(PlatformTransactionManager.class)), 1_000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void findAll_shouldLoadMissingItemsOnceAndThenServeFromMemory() {
+        Mockito.when(bookingRepository.findNearestBookingMoments(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenReturn(List.of(
+                        new BookingMoment(1L, 10L, 100L, NOW.minusDays(2)),
+                        new BookingMoment(1L, 11L, 101L, NOW.plusDays(1)),
+                        new BookingMoment(1L, 12L, 102L, NOW.plusDays(3))));
+
+        Map<Long, ItemNearestBookings> first = cache.findAll(List.of(1L, 2L), NOW);
+        Map<Long, ItemNearestBookings> second = cache.findAll(List.of(1L, 2L), NOW.plusHours(1));
+
+        assertEquals(10L, first.get(1L).lastBooking().getId());
+        assertEquals(11L, first.get(1L).nextBooking().getId());
+        assertEquals(ItemNearestBookings.EMPTY, first.get(2L));
+        assertEquals(first, second);
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findNearestBookingMoments(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void find_shouldAdvanceAsTimePasses() {
+        Mockito.when(bookingRepository.findNearestBookingMoments(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenReturn(List.of(
+                        new BookingMoment(1L, 11L, 101L, NOW.plusDays(1)),
+                        new BookingMoment(1L, 12L, 102L, NOW.plusDays(3))));
+
+        assertNull(cache.find(1L, NOW).lastBooking());
+
+        ItemNearestBookings later = cache.find(1L, NOW.plusDays(2));
+        assertEquals(11L, later.lastBooking().getId());
+        assertEquals(12L, later.nextBooking().getId());
+
+        ItemNearestBookings latest = cache.find(1L, NOW.plusDays(4));
+        assertEquals(12L, latest.lastBooking().getId());
+        assertNull(latest.nextBooking());
+    }
+
+    @Test
+    void find_whenUpcomingWindowIsExhausted_shouldReload() {
+        List<BookingMoment> window = new ArrayList<>();
+        for (int i = 0; i < NearestBookingCache.UPCOMING_LIMIT; i++) {
+            window.add(new BookingMoment(1L, 30L + i, 100L, NOW.plusDays(i + 1)));
+        }
+        Mockito.when(bookingRepository.findNearestBookingMoments(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenReturn(window)
+                .thenReturn(List.of(new BookingMoment(1L, 99L, 100L, NOW.plusDays(100))));
+
+        assertEquals(30L, cache.find(1L, NOW).nextBooking().getId());
+        assertEquals(99L, cache.find(1L, NOW.plusDays(50)).nextBooking().getId());
+        Mockito.verify(bookingRepository, Mockito.times(2))
+                .findNearestBookingMoments(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void onBookingSaved_shouldApplyApprovalsAndRejectionsToCachedItems() {
+        Mockito.when(bookingRepository.findNearestBookingMoments(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenReturn(List.of(new BookingMoment(1L, 10L, 100L, NOW.minusDays(2))));
+        cache.find(1L, NOW);
+
+        Booking booking = booking(20L, 1L, LocalDateTime.now().plusYears(100), BookingStatus.APPROVED);
+        cache.onBookingSaved(booking);
+        assertEquals(20L, cache.find(1L, NOW).nextBooking().getId());
+
+        booking.setStatus(BookingStatus.REJECTED);
+        cache.onBookingSaved(booking);
+        assertNull(cache.find(1L, NOW).nextBooking());
+        assertEquals(10L, cache.find(1L, NOW).lastBooking().getId());
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findNearestBookingMoments(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+    }
+
+    private static Booking booking(Long id, Long itemId, LocalDateTime start, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .booker(User.builder().id(200L).build())
+                .start(start)
+                .end(start.plusDays(1))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.nearest.BookingMoment;
+import ru.practicum.booking.nearest.NearestBookingCache;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the window-function query behind the nearest-booking cache and compares it with the former
+ * "load every past and every future booking of the page" queries as the booking history per item grows.
+ * The scaling run is enabled with {@code -Dbenchmarks=true [-Dnearest.benchmark.history=10,100,1000]}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class NearestBookingQueryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(NearestBookingQueryBenchmarkTest.class);
+    private static final int ITEMS = 10;
+    private static final int UPCOMING_LIMIT = NearestBookingCache.UPCOMING_LIMIT;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final List<Long> seededUserIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long userId : seededUserIds) {
+            jdbcTemplate.update("DELETE FROM bookings WHERE booker_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+        seededUserIds.clear();
+    }
+
+    @Test
+    void findNearestBookingMoments_shouldReturnLastAndUpcomingWindowPerItem() {
+        List<Long> itemIds = seed("query", 3, 20);
+
+        List<BookingMoment> moments = transactionTemplate.execute(status ->
+                bookingRepository.findNearestBookingMoments(itemIds, now, UPCOMING_LIMIT));
+        Map<Long, List<BookingMoment>> byItem = moments.stream().collect(Collectors.groupingBy(BookingMoment::itemId));
+
+        assertEquals(3, byItem.size());
+        for (List<BookingMoment> itemMoments : byItem.values()) {
+            List<BookingMoment> past = itemMoments.stream().filter(m -> m.start().isBefore(now)).toList();
+            List<BookingMoment> upcoming = itemMoments.stream().filter(m -> !m.start().isBefore(now)).toList();
+            assertEquals(1, past.size());
+            assertEquals(now.minusDays(1), past.get(0).start());
+            assertEquals(UPCOMING_LIMIT, upcoming.size());
+            assertEquals(now.plusDays(1), upcoming.stream().map(BookingMoment::start).min(LocalDateTime::compareTo).orElseThrow());
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void compareWithLoadingWholeHistory() {
+        int[] histories = Arrays.stream(System.getProperty("nearest.benchmark.history", "10,100,1000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        for (int history : histories) {
+            List<Long> itemIds = seed("bench" + history, ITEMS, history);
+
+            long[] legacy = measure(() -> transactionTemplate.execute(status -> legacyQueries(itemIds)));
+            long[] window = measure(() -> transactionTemplate.execute(status ->
+                    bookingRepository.findNearestBookingMoments(itemIds, now, UPCOMING_LIMIT).size()));
+            log.info("Nearest bookings for {} items with {} bookings each: whole history rows={} p50={} us | " +
+                            "window rows={} p50={} us",
+                    ITEMS, history, legacy[0], legacy[1], window[0], window[1]);
+            tearDown();
+        }
+    }
+
+    private int legacyQueries(List<Long> itemIds) {
+        entityManager.clear();
+        List<Booking> last = entityManager.createQuery("SELECT b FROM Booking b " +
+                        "WHERE b.item.id IN :itemIds AND b.start < :now AND b.status = 'APPROVED' " +
+                        "ORDER BY b.start DESC", Booking.class)
+                .setParameter("itemIds", itemIds)
+                .setParameter("now", now)
+                .getResultList();
+        List<Booking> next = entityManager.createQuery("SELECT b FROM Booking b " +
+                        "WHERE b.item.id IN :itemIds AND b.start >= :now AND b.status = 'APPROVED' " +
+                        "ORDER BY b.start ASC", Booking.class)
+                .setParameter("itemIds", itemIds)
+                .setParameter("now", now)
+                .getResultList();
+        return last.size() + next.size();
+    }
+
+    /**
+     * Seeds {@code history} approved bookings per item, half of them in the past and half in the
+     * future, one day apart around {@code now}.
+     */
+    private List<Long> seed(String prefix, int items, int history) {
+        User owner = userRepository.save(User.builder().name("Owner").email(prefix + "-owner@mail.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email(prefix + "-booker@mail.com").build());
+        seededUserIds.add(booker.getId());
+        seededUserIds.add(owner.getId());
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                    "VALUES (?, ?, true, ?)", prefix + " item " + i, "Item", owner.getId());
+            Long itemId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM items", Long.class);
+            itemIds.add(itemId);
+
+            List<Object[]> rows = new ArrayList<>();
+            for (int j = 0; j < history; j++) {
+                int day = j < history / 2 ? -(j + 1) : j - history / 2 + 1;
+                LocalDateTime start = now.plusDays(day);
+                rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(12)),
+                        itemId, booker.getId()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                    "VALUES (?, ?, ?, ?, 'APPROVED')", rows);
+        }
+        return itemIds;
+    }
+
+    private static long[] measure(Supplier<Integer> query) {
+        int rows = 0;
+        for (int i = 0; i < 5; i++) {
+            rows = query.get();
+        }
+        long[] micros = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            query.get();
+            micros[i] = (System.nanoTime() - started) / 1_000;
+        }
+        Arrays.sort(micros);
+        return new long[]{rows, micros[ITERATIONS / 2]};
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.config.querycount.QueryBudgetExceededException;
+import ru.practicum.item.dto.ItemCreateDto;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.service.ItemService;
+import ru.practicum.user.UserRepository;
+import ru.practicum.user.dto.UserCreateDto;
+import ru.practicum.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.query-budget.max-statements=1")
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserCreateDto("Owner", "budget-owner@mail.com")).getId();
+        bookerId = userService.createUser(new UserCreateDto("Booker", "budget-booker@mail.com")).getId();
+        for (int i = 0; i < 3; i++) {
+            Long itemId = itemService.addItem(ownerId, new ItemCreateDto("Дрель " + i, "Дрель", true, null)).getId();
+            bookingId = bookingRepository.save(Booking.builder()
+                    .start(LocalDateTime.now().minusDays(3))
+                    .end(LocalDateTime.now().minusDays(2))
+                    .item(itemRepository.getReferenceById(itemId))
+                    .booker(userRepository.getReferenceById(bookerId))
+                    .status(BookingStatus.APPROVED)
+                    .build()).getId();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.deleteUser(bookerId);
+        userService.deleteUser(ownerId);
+    }
+
+    @Test
+    void endpoint_shouldPublishStatementsRowsEntityLoadsAndTransactionTime() throws Exception {
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", ownerId).param("size", "10"))
+                .andExpect(status().isOk());
+
+        String endpoint = "BookingController.getBookingsForOwner";
+        double statements = meterRegistry.get("shareit.endpoint.statements").tag("endpoint", endpoint)
+                .summary().totalAmount();
+        assertTrue(statements >= 1 && statements <= 2);
+        assertEquals(3.0, meterRegistry.get("shareit.endpoint.rows").tag("endpoint", endpoint)
+                .summary().totalAmount());
+        assertEquals(0.0, meterRegistry.get("shareit.endpoint.entity.loads").tag("endpoint", endpoint)
+                .summary().totalAmount());
+        assertEquals(0.0, meterRegistry.get("shareit.endpoint.flushes").tag("endpoint", endpoint)
+                .summary().totalAmount());
+        assertEquals(1, meterRegistry.get("shareit.endpoint.transaction.time").tag("endpoint", endpoint)
+                .timer().count());
+        assertNull(meterRegistry.find("shareit.endpoint.query.budget.exceeded").tag("endpoint", endpoint).counter());
+    }
+
+    @Test
+    void endpointOverBudget_shouldFailWhenFailOnExceedIsSet() throws Exception {
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId).header("X-Sharer-User-Id", bookerId))
+                .andExpect(status().isInternalServerError())
+                .andExpect(result -> assertInstanceOf(QueryBudgetExceededException.class,
+                        result.getResolvedException()));
+
+        assertEquals(1.0, meterRegistry.get("shareit.endpoint.query.budget.exceeded")
+                .tag("endpoint", "BookingController.getBookingById").counter().count());
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@code EXPLAIN} for the SQL behind the hot repository queries and checks that each one is
+ * still served by the index added for it in the migrations. H2 indexes foreign key columns on its own
+ * and may prefer those indexes; PostgreSQL does not, so the migration indexes are also checked to exist.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class QueryPlanRegressionTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("booker listing",
+                        "SELECT b.id FROM bookings b WHERE b.booker_id = 1 " +
+                                "ORDER BY b.start_date DESC, b.id DESC LIMIT 11",
+                        "idx_bookings_booker_start_id"),
+                Arguments.of("owner listing",
+                        "SELECT b.id FROM bookings b JOIN items i ON i.id = b.item_id WHERE i.owner_id = 1 " +
+                                "ORDER BY b.start_date DESC, b.id DESC LIMIT 11",
+                        "idx_items_owner_id|fk_items_users"),
+                Arguments.of("booking conflicts",
+                        "SELECT b.id FROM bookings b WHERE b.item_id = 1 AND b.status NOT IN ('REJECTED', 'CANCELED') " +
+                                "AND b.end_date > TIMESTAMP '2030-01-01 00:00:00' " +
+                                "AND b.start_date < TIMESTAMP '2030-01-02 00:00:00'",
+                        "idx_bookings_item_"),
+                Arguments.of("nearest bookings",
+                        "SELECT b.item_id, b.id, b.booker_id, b.start_date FROM bookings b " +
+                                "WHERE b.item_id IN (1, 2) AND b.status = 'APPROVED' " +
+                                "AND b.start_date >= TIMESTAMP '2030-01-01 00:00:00'",
+                        "idx_bookings_item_status_start"),
+                Arguments.of("completed booking check",
+                        "SELECT b.id FROM bookings b WHERE b.booker_id = 1 AND b.item_id = 1 " +
+                                "AND b.status = 'APPROVED' AND b.end_date < TIMESTAMP '2030-01-01 00:00:00' LIMIT 1",
+                        "idx_bookings_booker_item_status_end"),
+                Arguments.of("owner items",
+                        "SELECT i.id FROM items i WHERE i.owner_id = 1 ORDER BY i.id LIMIT 10",
+                        "idx_items_owner_id|fk_items_users"),
+                Arguments.of("request answers",
+                        "SELECT i.id FROM items i WHERE i.request_id IN (1, 2)",
+                        "idx_items_request_id|fk_items_item_requests"),
+                Arguments.of("item comments",
+                        "SELECT c.id FROM comments c WHERE c.item_id IN (1, 2)",
+                        "idx_comments_item_id|fk_comments_items"),
+                Arguments.of("own requests",
+                        "SELECT r.id FROM item_requests r WHERE r.requester_id = 1 ORDER BY r.created_at DESC LIMIT 10",
+                        "idx_item_requests_requester_created"),
+                Arguments.of("other users' requests",
+                        "SELECT r.id FROM item_requests r WHERE r.requester_id <> 1 ORDER BY r.created_at DESC LIMIT 10",
+                        "idx_item_requests_created"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQuery_shouldUseItsIndex(String name, String sql, String expectedIndex) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        assertNotNull(plan);
+        assertTrue(Pattern.compile(expectedIndex).matcher(plan.toLowerCase(Locale.ROOT)).find(),
+                () -> name + " should use " + expectedIndex + ", plan was:\n" + plan);
+    }
+
+    @Test
+    void migrations_shouldCreateEveryHotPathIndex() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                        "SELECT index_name FROM information_schema.indexes WHERE table_schema = 'PUBLIC'", String.class)
+                .stream()
+                .map(index -> index.toLowerCase(Locale.ROOT))
+                .toList();
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_bookings_booker_start_id", "idx_bookings_item_start_id", "idx_bookings_item_status_start",
+                "idx_bookings_booker_item_status_end", "idx_items_owner_id", "idx_items_request_id",
+                "idx_comments_item_id", "idx_item_requests_requester_created", "idx_item_requests_created")),
+                () -> "indexes found: " + indexes);
+    }
+}
@@ -0,0 +1,184 @@
+package ru.practicum;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.booking.nearest.ItemNearestBookings;
+import ru.practicum.booking.nearest.NearestBookingCache;
+import ru.practicum.item.Item;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "shareit.datasource.routing.enabled=true",
+        "shareit.datasource.routing.replicas[0].url=jdbc:h2:mem:replica0;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "shareit.datasource.routing.replicas[0].username=sa",
+        "shareit.datasource.routing.replicas[1].url=jdbc:h2:mem:replica1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "shareit.datasource.routing.replicas[1].username=sa",
+        "shareit.datasource.routing.replication-lag=300ms"})
+class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY = "TESTDB";
+    private static final Set<String> REPLICAS = Set.of("REPLICA0", "REPLICA1");
+    private static final List<String> REPLICA_URLS = List.of(
+            "jdbc:h2:mem:replica0;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+            "jdbc:h2:mem:replica1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+
+    static {
+        // the replicas get the schema but never any data written to the primary: they lag forever
+        for (String url : REPLICA_URLS) {
+            Flyway replica = Flyway.configure().dataSource(url, "sa", "").cleanDisabled(false).load();
+            replica.clean();
+            replica.migrate();
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private NearestBookingCache nearestBookingCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Runnable> cleanups = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        cleanups.forEach(Runnable::run);
+    }
+
+    @Test
+    void readOnlyTransactions_shouldAlternateBetweenReplicasAndEverythingElseUsePrimary() {
+        String first = database(true);
+        String second = database(true);
+
+        assertTrue(REPLICAS.contains(first));
+        assertTrue(REPLICAS.contains(second));
+        assertNotEquals(first, second);
+        assertEquals(PRIMARY, database(false));
+        assertEquals(PRIMARY, currentDatabase());
+    }
+
+    @Test
+    void readOnlyTransaction_afterUsersOwnWrite_shouldUsePrimaryUntilReplicationLagPasses() throws Exception {
+        actAs(101L);
+        TransactionTemplate rolledBack = new TransactionTemplate(transactionManager);
+        rolledBack.executeWithoutResult(status -> {
+            currentDatabase();
+            status.setRollbackOnly();
+        });
+        assertTrue(REPLICAS.contains(database(true)));
+
+        database(false);
+        assertEquals(PRIMARY, database(true));
+
+        actAs(102L);
+        assertTrue(REPLICAS.contains(database(true)));
+
+        actAs(101L);
+        Thread.sleep(500);
+        assertTrue(REPLICAS.contains(database(true)));
+    }
+
+    @Test
+    void inMemoryStructures_whenReplicaLags_shouldBeLoadedFromPrimary() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = userRepository.save(User.builder().name("Owner").email("lag-owner@example.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("lag-booker@example.com").build());
+        Item item = itemRepository.save(Item.builder().name("Дрель").description("Ударная")
+                .available(true).owner(owner).build());
+        Booking booking = bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(now.minusDays(2)).end(now.plusDays(2)).status(BookingStatus.APPROVED).build());
+        cleanups.add(() -> {
+            bookingRepository.deleteById(booking.getId());
+            itemRepository.deleteById(item.getId());
+            userRepository.deleteAllById(List.of(owner.getId(), booker.getId()));
+        });
+        for (String url : REPLICA_URLS) {
+            JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+            replica.update("INSERT INTO users (id, name, email) VALUES (?, 'Owner', 'lag-owner@example.com')",
+                    owner.getId());
+            replica.update("INSERT INTO items (id, name, description, is_available, owner_id) "
+                    + "VALUES (?, 'Старое название', 'Ударная', TRUE, ?)", item.getId(), owner.getId());
+            cleanups.add(() -> {
+                replica.update("DELETE FROM items");
+                replica.update("DELETE FROM users");
+            });
+        }
+
+        availabilityIndex.rebuild();
+        assertTrue(availabilityIndex.isReady());
+        assertTrue(availabilityIndex.hasConflicts(item.getId(), now, now.plusHours(1)));
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ItemNearestBookings nearest = readOnly.execute(status -> nearestBookingCache.find(item.getId(), now));
+        assertNotNull(nearest.lastBooking());
+        assertEquals(booking.getId(), nearest.lastBooking().getId());
+
+        entityManagerFactory.getCache().evict(Item.class);
+        String name = readOnly.execute(status -> entityManager.find(Item.class, item.getId()).getName());
+        assertEquals("Старое название", name);
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> currentDatabase());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_CATALOG", String.class);
+    }
+
+    private static void actAs(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Sharer-User-Id", userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.config.CacheRegions;
+import ru.practicum.item.dto.CommentRequestDto;
+import ru.practicum.item.dto.ItemCreateDto;
+import ru.practicum.item.dto.ItemResponseDto;
+import ru.practicum.item.dto.ItemUpdateDto;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.service.ItemService;
+import ru.practicum.request.ItemRequest;
+import ru.practicum.request.ItemRequestRepository;
+import ru.practicum.user.UserRepository;
+import ru.practicum.user.dto.UserCreateDto;
+import ru.practicum.user.dto.UserUpdateDto;
+import ru.practicum.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Long ownerId;
+    private Long authorId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserCreateDto("Owner", "cache-owner@mail.com")).getId();
+        authorId = userService.createUser(new UserCreateDto("Author", "cache-author@mail.com")).getId();
+        itemId = itemService.addItem(ownerId, new ItemCreateDto("Дрель", "Ударная дрель", true, null)).getId();
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .item(itemRepository.getReferenceById(itemId))
+                .booker(userRepository.getReferenceById(authorId))
+                .status(BookingStatus.APPROVED)
+                .build());
+        itemService.addComment(authorId, itemId, new CommentRequestDto("Отличная дрель"));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long userId : new Long[]{authorId, ownerId}) {
+            if (userRepository.existsById(userId)) {
+                userService.deleteUser(userId);
+            }
+        }
+    }
+
+    @Test
+    void repeatedReads_shouldBeServedFromCacheAndFollowUpdates() {
+        itemService.getItemById(itemId, authorId);
+        statistics.clear();
+
+        ItemResponseDto cached = itemService.getItemById(itemId, authorId);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("Author", cached.getComments().get(0).getAuthorName());
+
+        userService.updateUser(authorId, new UserUpdateDto("Renamed", null));
+        itemService.updateItem(ownerId, itemId, new ItemUpdateDto("Перфоратор", null, null));
+        statistics.clear();
+
+        ItemResponseDto updated = itemService.getItemById(itemId, authorId);
+        assertEquals("Перфоратор", updated.getName());
+        assertEquals("Renamed", updated.getComments().get(0).getAuthorName());
+        assertEquals("Renamed", userService.getUserById(authorId).getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteUser_shouldDropRowsTheDatabaseCascades() {
+        Long requestId = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна пила")
+                .requester(userRepository.getReferenceById(authorId))
+                .created(LocalDateTime.now())
+                .build()).getId();
+        assertTrue(itemRequestRepository.findById(requestId).isPresent());
+        assertEquals(1, itemService.getItemById(itemId, ownerId).getComments().size());
+
+        userService.deleteUser(authorId);
+
+        assertTrue(itemRequestRepository.findById(requestId).isEmpty());
+        assertTrue(itemService.getItemById(itemId, ownerId).getComments().isEmpty());
+    }
+
+    @Test
+    void regions_shouldPublishRequestsAndHitRatio() {
+        userService.getUserById(ownerId);
+        statistics.clear();
+        userService.getUserById(ownerId);
+        userService.getUserById(ownerId);
+
+        assertEquals(2.0, meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", CacheRegions.USERS, "result", "hit").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", CacheRegions.USERS, "result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("hibernate.second.level.cache.hit.ratio")
+                .tag("region", CacheRegions.USERS).gauge().value());
+    }
+}
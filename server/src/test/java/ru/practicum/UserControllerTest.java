@@ -67,6 +67,19 @@ class UserControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name", Matchers.is("user")));
     }
 
+    @Test
+    void getAllUsers_withIds_shouldReturnRequestedUsers() throws Exception {
+        Mockito.when(userService.getUsersByIds(List.of(1L, 2L))).thenReturn(List.of(userResponseDto));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .param("ids", "1,2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(1)));
+
+        Mockito.verify(userService, Mockito.never()).getAllUsers(ArgumentMatchers.any(Pageable.class));
+    }
+
     @Test
     void getUserById_shouldReturnUser() throws Exception {
         Mockito.when(userService.getUserById(1L)).thenReturn(userResponseDto);
@@ -0,0 +1,121 @@
+package ru.practicum;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.exception.UserNotFoundException;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+import ru.practicum.user.dto.UserCreateDto;
+import ru.practicum.user.dto.UserResponseDto;
+import ru.practicum.user.service.UserExistenceService;
+import ru.practicum.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UserExistenceServiceTest {
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private UserExistenceService userExistence;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> createdIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            createdIds.add(userService.createUser(new UserCreateDto("User " + i, "existence" + i + "@mail.com")).getId());
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        createdIds.stream().filter(userRepository::existsById).forEach(userService::deleteUser);
+    }
+
+    @Test
+    void createdUsers_shouldBeKnownWithoutQuerying() {
+        createdIds.forEach(userExistence::requireExists);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findExisting_shouldCheckUnknownIdsInOneQueryAndCacheOnlyExistingUsers() {
+        Long cold = createdIds.get(0);
+        userService.deleteUser(cold);
+        userRepository.save(User.builder().name("Direct").email("existence-direct@mail.com").build());
+        Long direct = userRepository.findByEmail("existence-direct@mail.com").orElseThrow().getId();
+        createdIds.add(direct);
+        statistics.clear();
+
+        Set<Long> existing = userExistence.findExisting(List.of(direct, MISSING_ID, createdIds.get(1)));
+        assertEquals(Set.of(direct, createdIds.get(1)), existing);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        statistics.clear();
+        userExistence.requireExists(direct);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertThrows(UserNotFoundException.class, () -> userExistence.requireExists(MISSING_ID));
+        assertThrows(UserNotFoundException.class, () -> userExistence.requireExists(cold));
+        assertEquals(2, statistics.getPrepareStatementCount(), "Отсутствие пользователя не кэшируется");
+    }
+
+    @Test
+    void requireExists_whenUserWasCreatedElsewhereAfterMiss_shouldFindIt() {
+        assertThrows(UserNotFoundException.class, () -> userExistence.requireExists(MISSING_ID));
+
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                MISSING_ID, "Elsewhere", "existence-elsewhere@mail.com");
+        createdIds.add(MISSING_ID);
+
+        userExistence.requireExists(MISSING_ID);
+    }
+
+    @Test
+    void deleteUser_shouldMakeUserUnknownAfterCommit() {
+        Long deleted = createdIds.get(2);
+        userExistence.requireExists(deleted);
+
+        userService.deleteUser(deleted);
+
+        assertThrows(UserNotFoundException.class, () -> userExistence.requireExists(deleted));
+    }
+
+    @Test
+    void getUsersByIds_shouldReturnExistingUsersOrderedById() {
+        List<UserResponseDto> users = userService.getUsersByIds(List.of(createdIds.get(2), MISSING_ID, createdIds.get(0)));
+
+        assertEquals(List.of(createdIds.get(0), createdIds.get(2)), users.stream().map(UserResponseDto::getId).toList());
+    }
+}